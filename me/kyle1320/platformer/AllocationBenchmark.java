@@ -0,0 +1,56 @@
+package me.kyle1320.platformer;
+
+import java.lang.management.ManagementFactory;
+
+/**	Measures how much memory a game allocates per update once it is warmed up. Needs a HotSpot based JVM to count allocations.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class AllocationBenchmark {
+	/**	Returns the number of bytes allocated so far by the current thread.
+		@return The number of bytes allocated by the current thread, or -1 if the JVM cannot tell
+	*/
+	private static long allocatedBytes() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+		if (bean instanceof com.sun.management.ThreadMXBean)
+			return ((com.sun.management.ThreadMXBean)bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+
+		return -1;
+	}
+
+	/**	<pre>Runs the benchmark and prints the results. Arguments are read as follows:
+	0:	String	The GameLevel name (default tutorial)
+	1:	int 	The number of updates to measure (default 100000)
+	2:	String	The input script, see ScriptedInput.parse (default walking right and jumping)</pre>
+		@param args A String array of program arguments
+	*/
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+
+		GameLevel level = GameLevel.valueOf(args.length > 0 ? args[0] : "tutorial");
+		int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 100000;
+		String script = args.length > 2 ? args[2] : "D:200 D+SPACE:50 D:300 A:200 A+SPACE:50 -:100";
+
+		// the script is repeated so that the player keeps moving and colliding for the whole measurement
+		StringBuilder repeated = new StringBuilder();
+		for (int i=0; i < 2 * ticks / ScriptedInput.parse(script).getLength() + 1; i++)
+			repeated.append(script).append(' ');
+
+		HeadlessRunner runner = new HeadlessRunner(level, ScriptedInput.parse(repeated.toString()));
+
+		runner.run(ticks / 2);	// warm up and let the level settle
+
+		long before = allocatedBytes();
+		SimulationResult result = runner.run(ticks);
+		long after = allocatedBytes();
+
+		if (before < 0) {
+			System.out.println("This JVM cannot count allocated bytes");
+			return;
+		}
+
+		System.out.println(result);
+		System.out.printf("  %d bytes allocated, %.2f bytes/tick%n", after - before, (double)(after - before) / result.getTicks());
+	}
+}
@@ -140,4 +140,26 @@ public class AnimatedSprite implements Sprite {
 	public Sprite copy() {
 		return new AnimatedSprite(currImage, updateSteps, currStep, images);
 	}
+
+	/**	Returns the image this animation is showing now.
+		@return The Sprite currently displayed by this animation
+	*/
+	public Sprite getCurrentFrame() {
+		return images[currImage].getCurrentFrame();
+	}
+
+	/**	Returns the image this animation shows after the given number of updates from its default state.
+		@param tick The number of updates since the animation's default state
+		@return The Sprite to draw for that update
+	*/
+	public Sprite getFrame(long tick) {
+		return images[(int)((tick / updateSteps) % images.length)].getFrame(tick);
+	}
+
+	/**	Returns true, since this animation changes as it is updated.
+		@return True
+	*/
+	public boolean isAnimated() {
+		return true;
+	}
 }
\ No newline at end of file
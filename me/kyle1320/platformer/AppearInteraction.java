@@ -71,8 +71,7 @@ The default tile is placed if the tests pass and the number of tiles to place is
 			int y = tile.getTileY();
 
 			for (int i=0; i < tests; i++) {
-				Tile testTile = TileParser.parse(tile, data.getString(4+i));
-				if (testTile.getMaterial() != tile.getLevel().getTileAt(testTile.getTileX(), testTile.getTileY()).getMaterial())
+				if (!data.getPlacement(4+i).matches(tile))
 					return;
 			}
 
@@ -91,13 +90,52 @@ The default tile is placed if the tests pass and the number of tiles to place is
 					tile.destroy();
 
 				for (int i=0; i < tiles; i++) {
-					Tile newTile = TileParser.parse(tile, data.getString(tests+4+i*2, ""));
+					TilePlacement placement = data.getPlacement(tests+4+i*2);
 					
-					if (data.getBoolean(tests+5+i*2, true) || newTile.canBePlaced()) {
-						newTile.place();
+					if (data.getBoolean(tests+5+i*2, true) || placement.canBePlaced(tile)) {
+						placement.createTile(tile).place();
 					}
 				}
 			}
 		}
 	}
+
+	/**	Checks tile data for this interaction before the level is played, so that mistakes are found without having to trigger them.
+		@param data The tile data to check
+		@return A description of the first problem with the data, or null if there is none
+	*/
+	public String check(TileData data) {
+		if (data.getSize() == 0)
+			return null;
+
+		int tests = data.getInt(1, 0);
+		int tiles = data.getInt(2, 0);
+
+		if (tests < 0 || tiles < 0)
+			return "negative number of tiles to test or place";
+
+		for (int i=0; i < tests; i++) {
+			if (4+i >= data.getSize())
+				return "missing test " + i;
+			if (!data.getPlacement(4+i).isValid())
+				return "bad material in test " + i + ": " + data.getString(4+i);
+		}
+
+		for (int i=0; i < tiles; i++) {
+			if (tests+4+i*2 >= data.getSize())
+				return "missing placement " + i;
+			if (!data.getPlacement(tests+4+i*2).isValid())
+				return "bad material in placement " + i + ": " + data.getString(tests+4+i*2);
+		}
+
+		return null;
+	}
+
+	/**	Returns true if this interaction places a default tile or the given tile has custom data to act on.
+		@param tile The tile this interaction belongs to
+		@return True if this interaction might place or test tiles
+	*/
+	public boolean canAct(Tile tile) {
+		return defaultTile || tile.getData().getSize() > 0;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package me.kyle1320.platformer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**	Runs many headless games at once, one per worker thread.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class BatchRunner {
+	private int threads;
+
+	/**	Creates a new BatchRunner that uses one worker per available processor.
+	*/
+	public BatchRunner() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**	Creates a new BatchRunner with the given number of workers.
+		@param threads The number of games to run at the same time
+	*/
+	public BatchRunner(int threads) {
+		this.threads = Math.max(1, threads);
+	}
+
+	/**	Plays every level with every script. Each pair gets its own GameState, so games never share state.
+		@param levels The levels to play
+		@param scripts The input scripts to play each level with, see ScriptedInput.parse
+		@param maxTicks The maximum number of updates to run in each game
+		@return The results, ordered by level and then by script
+	*/
+	public List<SimulationResult> run(GameLevel[] levels, String[] scripts, final long maxTicks) {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		ArrayList<Future<SimulationResult>> futures = new ArrayList<Future<SimulationResult>>();
+
+		try {
+			for (final GameLevel level : levels) {
+				for (final String script : scripts) {
+					futures.add(pool.submit(new Callable<SimulationResult>() {
+						public SimulationResult call() {
+							return new HeadlessRunner(level, ScriptedInput.parse(script)).run(maxTicks);
+						}
+					}));
+				}
+			}
+
+			ArrayList<SimulationResult> results = new ArrayList<SimulationResult>();
+
+			for (Future<SimulationResult> f : futures)
+				results.add(f.get());
+
+			return results;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while running games", e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException("A game failed to run", e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**	Returns the number of games this runner plays at the same time.
+		@return The number of worker threads
+	*/
+	public int getThreads() {
+		return threads;
+	}
+
+	/**	<pre>Plays every GameLevel with each of the given scripts and prints the results. Arguments are read as follows:
+	0:	int 	The number of worker threads (default one per processor)
+	1:	long	The maximum number of updates to run in each game (default 100000)
+	2..	String	Input scripts, see ScriptedInput.parse (default a single empty script)</pre>
+		@param args A String array of program arguments
+	*/
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+
+		BatchRunner runner = args.length > 0 ? new BatchRunner(Integer.parseInt(args[0])) : new BatchRunner();
+		long maxTicks = args.length > 1 ? Long.parseLong(args[1]) : 100000;
+
+		String[] scripts;
+		if (args.length > 2) {
+			scripts = new String[args.length - 2];
+			System.arraycopy(args, 2, scripts, 0, scripts.length);
+		} else {
+			scripts = new String[] {""};
+		}
+
+		long start = System.nanoTime();
+		List<SimulationResult> results = runner.run(GameLevel.values(), scripts, maxTicks);
+		long nanos = System.nanoTime() - start;
+
+		long ticks = 0;
+		for (SimulationResult r : results) {
+			System.out.println(r);
+			ticks += r.getTicks();
+		}
+
+		System.out.printf("%d games on %d threads: %d ticks in %.2fs (%.0f ticks/s)%n",
+			results.size(), runner.getThreads(), ticks, nanos / 1.0e9, ticks * 1.0e9 / nanos);
+	}
+}
@@ -0,0 +1,68 @@
+package me.kyle1320.platformer;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**	Measures how the number of games a BatchRunner plays each second grows with its number of worker threads.
+	Every level is played with the same script several times over for each thread count, doubling the threads from one up to the most given, and the best of three batches is kept.
+	Speedup from playing games in parallel can only show on a machine with more than one processor, so the processor count is printed with the results.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class BatchScalingBenchmark {
+	/**	Plays a batch of games a few times and returns how long the fastest took.
+		@param threads The number of worker threads
+		@param scripts The input scripts to play each level with
+		@param maxTicks The maximum number of updates to run in each game
+		@return The best time taken, in nanoseconds
+	*/
+	private static long time(int threads, String[] scripts, long maxTicks) {
+		long best = Long.MAX_VALUE;
+
+		for (int i=0; i < 3; i++) {
+			long start = System.nanoTime();
+			List<SimulationResult> results = new BatchRunner(threads).run(GameLevel.values(), scripts, maxTicks);
+			best = Math.min(best, System.nanoTime() - start);
+
+			if (results.size() != GameLevel.values().length * scripts.length)
+				throw new IllegalStateException("Expected a result for every game, got " + results.size());
+		}
+
+		return best;
+	}
+
+	/**	<pre>Runs the benchmark and prints the results. Arguments are read as follows:
+	0:	int		The most worker threads to try (default twice the number of processors)
+	1:	int		The number of times each level is played for each thread count (default 8)
+	2:	long	The maximum number of updates to run in each game (default 20000)
+	3:	String	The input script, see ScriptedInput.parse (default walks and jumps to the right)</pre>
+		@param args A String array of program arguments
+	*/
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+
+		int processors = Runtime.getRuntime().availableProcessors();
+		int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : 2 * processors;
+		int repeats = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+		long maxTicks = args.length > 2 ? Long.parseLong(args[2]) : 20000;
+
+		String[] scripts = new String[repeats];
+		Arrays.fill(scripts, args.length > 3 ? args[3] : "D:300 D+SPACE:40 D:200 SPACE:20 D+W:100 D+SPACE:60 D:400");
+
+		int games = GameLevel.values().length * repeats;
+		time(processors, scripts, maxTicks);		// warm up
+
+		System.out.printf("%d games of up to %d updates, %d processors%n", games, maxTicks, processors);
+
+		double single = 0;
+
+		for (int threads = 1; threads <= maxThreads; threads *= 2) {
+			double gamesPerSecond = games * 1.0e9 / time(threads, scripts, maxTicks);
+
+			if (threads == 1)
+				single = gamesPerSecond;
+
+			System.out.printf("  %2d threads: %.1f games/s (%.2fx one thread)%n", threads, gamesPerSecond, gamesPerSecond / single);
+		}
+	}
+}
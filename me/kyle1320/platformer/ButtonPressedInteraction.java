@@ -1,14 +1,10 @@
 package me.kyle1320.platformer;
 
-import java.util.ArrayList;
-
 /**	An interaction for pressed buttons. Calls an AppearInteraction once if the player is on top of the button, otherwise the interacting tile's material is set to the material of the unpressed button.
 	@author Kyle Cutler
 	@version 1/6/14	
 */
 public class ButtonPressedInteraction implements Interaction {
-	// Static so every instance knows about every pressed Tile.
-	private static final ArrayList<Tile> acted = new ArrayList<Tile>();
 	private AppearInteraction appear;
 	private Material unpressed;
 
@@ -26,13 +22,20 @@ public class ButtonPressedInteraction implements Interaction {
 	*/
 	public void action(Tile tile, Player player) {
 		if (player.overlaps(tile) && player.getMinY() >= tile.getMaxY() && player.touchDown()) {
-			if (!acted.contains(tile)) {
-				acted.add(tile);
+			// the game remembers which buttons are held down, so the appear action only runs once per press
+			if (player.getGame().pressButton(tile))
 				appear.action(tile, player);
-			}
 		} else {
-			acted.remove(tile);
+			player.getGame().releaseButton(tile);
 			tile.setMaterial(unpressed, false);
 		}
 	}
+
+	/**	Checks tile data for the appear interaction of this button.
+		@param data The tile data to check
+		@return A description of the first problem with the data, or null if there is none
+	*/
+	public String check(TileData data) {
+		return appear.check(data);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package me.kyle1320.platformer;
+
+/**	Keeps the most recent snapshots of a game in a ring buffer, so that the game can be rewound.
+	Once the ring is full, each new checkpoint replaces the oldest one.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class CheckpointRing {
+	private GameSnapshot[] snapshots;
+	private int newest;		// index of the newest snapshot
+	private int size;
+
+	/**	Creates a new, empty CheckpointRing.
+		@param capacity The most snapshots to keep
+	*/
+	public CheckpointRing(int capacity) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+
+		this.snapshots = new GameSnapshot[capacity];
+		this.newest = capacity - 1;
+		this.size = 0;
+	}
+
+	/**	Saves the current state of a game as the newest checkpoint.
+		@param game The game to save
+		@return The snapshot saved
+	*/
+	public GameSnapshot checkpoint(GameState game) {
+		GameSnapshot snapshot = game.snapshot();
+		add(snapshot);
+
+		return snapshot;
+	}
+
+	/**	Adds a snapshot as the newest checkpoint.
+		@param snapshot The snapshot to add
+	*/
+	public void add(GameSnapshot snapshot) {
+		newest = (newest + 1) % snapshots.length;
+		snapshots[newest] = snapshot;
+
+		if (size < snapshots.length)
+			size++;
+	}
+
+	/**	Returns a checkpoint without removing it.
+		@param back How many checkpoints back to look, where 0 is the newest
+		@return The checkpoint, or null if there are not that many
+	*/
+	public GameSnapshot get(int back) {
+		if (back < 0 || back >= size)
+			return null;
+
+		return snapshots[(newest - back + snapshots.length) % snapshots.length];
+	}
+
+	/**	Restores a game to a checkpoint and drops every checkpoint newer than it, so that playing on from there adds to the ring in order.
+		@param game The game to restore
+		@param back How many checkpoints back to rewind, where 0 is the newest
+		@return True if the game was rewound, or false if there are not that many checkpoints
+	*/
+	public boolean rewind(GameState game, int back) {
+		GameSnapshot snapshot = get(back);
+
+		if (snapshot == null)
+			return false;
+
+		for (int i=0; i < back; i++) {
+			snapshots[newest] = null;
+			newest = (newest - 1 + snapshots.length) % snapshots.length;
+		}
+
+		size -= back;
+		game.restore(snapshot);
+
+		return true;
+	}
+
+	/**	Removes every checkpoint.
+	*/
+	public void clear() {
+		for (int i=0; i < snapshots.length; i++)
+			snapshots[i] = null;
+
+		size = 0;
+	}
+
+	/**	Returns the number of checkpoints held.
+		@return The number of checkpoints
+	*/
+	public int size() {
+		return size;
+	}
+
+	/**	Returns the most checkpoints this ring holds.
+		@return The capacity of this ring
+	*/
+	public int getCapacity() {
+		return snapshots.length;
+	}
+}
@@ -0,0 +1,75 @@
+package me.kyle1320.platformer;
+
+import java.nio.ByteBuffer;
+
+/**	Runs a player across a wide level with every tile in memory, and again with most of the level paged out to disk, and compares the two.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class ChunkPagingBenchmark {
+	/**	Builds a wide, flat level with a column of coins every so often.
+		@param width The level width
+		@param height The level height
+		@return The level data in the text level format
+	*/
+	private static String buildLevel(int width, int height) {
+		StringBuilder out = new StringBuilder(width * height * 3);
+		out.append(width).append(' ').append(height).append('\n');
+
+		for (int y=height-1; y >= 0; y--) {
+			for (int x=0; x < width; x++) {
+				Material m = y < 2 ? Material.castleCenter : (x % 50 == 0 && y < 6) ? Material.coinGold : Material.air;
+				out.append(m.ordinal()).append(' ');
+			}
+			out.append('\n');
+		}
+
+		out.append("0 5 3\n");	// background and player start
+
+		return out.toString();
+	}
+
+	/**	Walks the player right across the given level and prints how it went.
+		@param name The name to print for the run
+		@param level The level to run
+		@param ticks The number of updates to run
+	*/
+	private static void walk(String name, Level level, int ticks) {
+		HeadlessRunner runner = new HeadlessRunner(level, ScriptedInput.parse("D:" + ticks));
+		SimulationResult result = runner.run(ticks);
+
+		System.out.printf("%s: player reached x=%.0f, %d points, %.0f ticks/s%n", name,
+			runner.getGame().getPlayer().getX(), result.getPoints(), result.getTicksPerSecond());
+	}
+
+	/**	<pre>Runs the benchmark and prints the results. Arguments are read as follows:
+	0:	int	The level width (default 20000)
+	1:	int	The level height (default 256)
+	2:	long	Roughly the most bytes of tiles to keep in memory when paging (default 512 KB)
+	3:	int	The number of updates to run (default 200000)</pre>
+		@param args A String array of program arguments
+	*/
+	public static void main(String[] args) throws Exception {
+		System.setProperty("java.awt.headless", "true");
+
+		int width = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+		int height = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+		long memoryBudget = args.length > 2 ? Long.parseLong(args[2]) : 512 * 1024;
+		int ticks = args.length > 3 ? Integer.parseInt(args[3]) : 200000;
+
+		String data = buildLevel(width, height);
+
+		walk("in memory", new Level(null, new LevelTokenizer(ByteBuffer.wrap(data.getBytes()))), ticks);
+
+		Level level = new Level(null, new LevelTokenizer(ByteBuffer.wrap(data.getBytes())), memoryBudget);
+		ChunkedTileGrid grid = (ChunkedTileGrid)level.getGrid();
+		long onDemandAfterLoad = grid.getLoadsOnDemand();
+
+		walk("paged", level, ticks);
+
+		System.out.printf("  budget %d chunks, %d in memory, %d loaded in the background, %d loaded on demand while playing, %d dropped%n",
+			grid.getChunkBudget(), grid.getResidentChunks(), grid.getLoadsAhead(), grid.getLoadsOnDemand() - onDemandAfterLoad, grid.getEvictions());
+
+		level.close();
+	}
+}
@@ -0,0 +1,453 @@
+package me.kyle1320.platformer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**	A TileGrid that splits a level into square chunks and only keeps some of them in memory, with the rest in a file on disk.
+	Chunks around the focus are loaded, and chunks far from it are written out and dropped, on a background thread so that updates rarely wait for the disk.
+	A chunk that is needed before it has been loaded is loaded on the spot.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class ChunkedTileGrid implements TileGrid {
+	public static final int CHUNK_SIZE = 32;	// the width and height of a chunk in tiles
+	private static final int CHUNK_SHIFT = 5;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+	private static final int CHUNK_TILES = CHUNK_SIZE * CHUNK_SIZE;
+	private static final int CHUNK_LONGS = CHUNK_TILES / 64;
+
+	// the size of a chunk on disk: material ids, then animated bits, then interactive bits
+	private static final int CHUNK_BYTES = CHUNK_TILES * 2 + CHUNK_LONGS * 8 * 2;
+
+	// roughly the heap used by a chunk in memory
+	public static final int CHUNK_MEMORY = CHUNK_BYTES + 160;
+
+	// how many chunks in each direction around the focus are loaded ahead of time
+	public static final int FOCUS_RADIUS = 2;
+
+	// one thread loads and drops chunks for every ChunkedTileGrid
+	private static final ExecutorService PAGER = Executors.newSingleThreadExecutor(new ThreadFactory() {
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, "Chunk pager");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	private int width;
+	private int chunksWide, chunksHigh;
+	private int budget;		// the number of chunks to keep in memory
+	private int limit;		// the most chunks in memory before loading a chunk drops others on the spot
+
+	private AtomicReferenceArray<Chunk> chunks;	// null for chunks that are only on disk
+	private LinkedHashSet<Integer> resident;	// the chunks in memory, oldest first. Guarded by file
+	private File path;
+	private RandomAccessFile file;
+	private boolean closed;		// guarded by file
+
+	private volatile int focusX, focusY;		// chunk coordinates of the focus
+	private volatile boolean pagingQueued;
+
+	private volatile long loadsAhead, loadsOnDemand, evictions;
+
+	/**	Creates a new ChunkedTileGrid of the given size, filled with air. Chunks that are not in memory are kept in a temporary file.
+		@param width The level width
+		@param height The level height
+		@param memoryBudget Roughly the most bytes of chunks to keep in memory. At least the chunks around the focus are always kept
+	*/
+	public ChunkedTileGrid(int width, int height, long memoryBudget) throws IOException {
+		this.width = width;
+
+		this.chunksWide = (width + CHUNK_MASK) >> CHUNK_SHIFT;
+		this.chunksHigh = (height + CHUNK_MASK) >> CHUNK_SHIFT;
+
+		int near = (2*FOCUS_RADIUS + 1) * (2*FOCUS_RADIUS + 1);
+		this.budget = (int)Math.max(near + 1, Math.min(Integer.MAX_VALUE, memoryBudget / CHUNK_MEMORY));
+
+		// reading a level fills a row of chunks at a time, so leave room for two rows
+		this.limit = Math.max(2 * budget, 2 * chunksWide);
+
+		this.chunks = new AtomicReferenceArray<Chunk>(chunksWide * chunksHigh);
+		this.resident = new LinkedHashSet<Integer>();
+
+		this.path = File.createTempFile("level", ".chunks");
+		path.deleteOnExit();	// in case the grid is never closed
+		this.file = new RandomAccessFile(path, "rw");
+
+		this.focusX = Integer.MIN_VALUE / 2;	// nothing is near the focus until it is first set
+		this.focusY = Integer.MIN_VALUE / 2;
+	}
+
+	/**	Returns the material id of the tile at the given coordinates, loading its chunk if it is not in memory.
+		@param x The x coordinate
+		@param y The y coordinate
+		@return The ordinal of the tile's Material
+	*/
+	public short getMaterial(int x, int y) {
+		return getChunk(x >> CHUNK_SHIFT, y >> CHUNK_SHIFT).materials[((y & CHUNK_MASK) << CHUNK_SHIFT) | (x & CHUNK_MASK)];
+	}
+
+	/**	Sets the tile at the given coordinates, loading its chunk if it is not in memory.
+		@param x The x coordinate
+		@param y The y coordinate
+		@param material The ordinal of the tile's new Material
+		@param animated True if the tile is animated
+		@param interactive True if the tile has an interaction that might act
+	*/
+	public void setTile(int x, int y, short material, boolean animated, boolean interactive) {
+		int i = ((y & CHUNK_MASK) << CHUNK_SHIFT) | (x & CHUNK_MASK);
+
+		while (true) {
+			Chunk chunk = getChunk(x >> CHUNK_SHIFT, y >> CHUNK_SHIFT);
+
+			synchronized (chunk) {
+				if (!chunk.evicted) {	// if the chunk was dropped while we got it, the change would be lost, so get it again
+					chunk.materials[i] = material;
+					chunk.animated.set(i, animated);
+					if (interactive)
+						chunk.interactive[i >> 6] |= 1L << i;
+					else
+						chunk.interactive[i >> 6] &= ~(1L << i);
+					chunk.dirty = true;
+					return;
+				}
+			}
+		}
+	}
+
+	/**	Finds the first interactive tile in a row, within a range of x coordinates.
+		@param y The y coordinate of the row
+		@param minx The first x coordinate to look at
+		@param maxx The last x coordinate to look at
+		@return The x coordinate of the first interactive tile, or -1 if there is none in the range
+	*/
+	public int nextInteractiveTile(int y, int minx, int maxx) {
+		int row = (y & CHUNK_MASK) << CHUNK_SHIFT;
+
+		for (int cx = minx >> CHUNK_SHIFT; cx <= maxx >> CHUNK_SHIFT; cx++) {
+			Chunk chunk = getChunk(cx, y >> CHUNK_SHIFT);
+
+			int from = cx == minx >> CHUNK_SHIFT ? minx & CHUNK_MASK : 0;
+			int to = cx == maxx >> CHUNK_SHIFT ? maxx & CHUNK_MASK : CHUNK_MASK;
+
+			// a row of a chunk is half a long, so the range is within one word
+			int start = row + from;
+			long word = chunk.interactive[start >> 6] & (-1L << start) & (-1L >>> (63 - ((row + to) & 63)));
+
+			if (word != 0)
+				return (cx << CHUNK_SHIFT) + (start & ~63) + Long.numberOfTrailingZeros(word) - row;
+		}
+
+		return -1;
+	}
+
+	/**	Returns the animated tiles in the chunks that are in memory.
+		@return The index (y*width + x) of each animated tile, in increasing order
+	*/
+	public int[] getAnimatedTiles() {
+		Integer[] keys;
+		synchronized (file) {
+			keys = resident.toArray(new Integer[resident.size()]);
+		}
+
+		int[] tiles = new int[0];
+		int n = 0;
+
+		for (Integer key : keys) {
+			Chunk chunk = chunks.get(key);
+
+			if (chunk == null)
+				continue;	// dropped since we looked
+
+			int cx = key % chunksWide;
+			int cy = key / chunksWide;
+
+			for (int i=chunk.animated.nextSetBit(0); i >= 0; i=chunk.animated.nextSetBit(i+1)) {
+				if (n == tiles.length)
+					tiles = Arrays.copyOf(tiles, Math.max(16, n * 2));
+
+				tiles[n++] = ((cy << CHUNK_SHIFT) + (i >> CHUNK_SHIFT)) * width + (cx << CHUNK_SHIFT) + (i & CHUNK_MASK);
+			}
+		}
+
+		tiles = Arrays.copyOf(tiles, n);
+		Arrays.sort(tiles);
+
+		return tiles;
+	}
+
+	/**	Moves the focus to the given position. If it moves to a new chunk, the chunks around it are loaded and far chunks are dropped in the background.
+		@param x The x coordinate
+		@param y The y coordinate
+	*/
+	public void focus(double x, double y) {
+		int cx = Math.max(0, Math.min(chunksWide - 1, (int)x >> CHUNK_SHIFT));
+		int cy = Math.max(0, Math.min(chunksHigh - 1, (int)y >> CHUNK_SHIFT));
+
+		if (cx == focusX && cy == focusY)
+			return;
+
+		focusX = cx;
+		focusY = cy;
+
+		if (!pagingQueued) {
+			pagingQueued = true;
+			PAGER.execute(new Runnable() {
+				public void run() {
+					pagingQueued = false;	// clear first, so a later focus change queues another page
+					page();
+				}
+			});
+		}
+	}
+
+	/**	Loads the chunks around the focus, then drops the chunks farthest from it until no more than the budget are in memory.
+	*/
+	private void page() {
+		final int fx = focusX;
+		final int fy = focusY;
+
+		for (int cy = Math.max(0, fy - FOCUS_RADIUS); cy <= Math.min(chunksHigh - 1, fy + FOCUS_RADIUS); cy++) {
+			for (int cx = Math.max(0, fx - FOCUS_RADIUS); cx <= Math.min(chunksWide - 1, fx + FOCUS_RADIUS); cx++) {
+				if (chunks.get(cy * chunksWide + cx) == null && load(cy * chunksWide + cx, true) == null)
+					return;		// closed since the page was queued
+			}
+		}
+
+		synchronized (file) {
+			if (closed || resident.size() <= budget)
+				return;
+
+			Integer[] keys = resident.toArray(new Integer[resident.size()]);
+
+			Arrays.sort(keys, new Comparator<Integer>() {	// farthest first
+				public int compare(Integer a, Integer b) {
+					return distance(b, fx, fy) - distance(a, fx, fy);
+				}
+			});
+
+			for (int i=0; i < keys.length && resident.size() > budget; i++) {
+				if (distance(keys[i], fx, fy) > FOCUS_RADIUS)
+					evict(keys[i]);
+			}
+		}
+	}
+
+	/**	Returns the distance in chunks between a chunk and the given chunk coordinates, as the larger of the x and y distances.
+		@param key The chunk index
+		@param cx The other chunk x coordinate
+		@param cy The other chunk y coordinate
+		@return The distance between them
+	*/
+	private int distance(int key, int cx, int cy) {
+		return Math.max(Math.abs(key % chunksWide - cx), Math.abs(key / chunksWide - cy));
+	}
+
+	/**	Returns the chunk at the given chunk coordinates, loading it if it is not in memory.
+		@param cx The chunk x coordinate
+		@param cy The chunk y coordinate
+		@return The chunk
+	*/
+	private Chunk getChunk(int cx, int cy) {
+		int key = cy * chunksWide + cx;
+		Chunk chunk = chunks.get(key);
+
+		if (chunk == null)
+			chunk = load(key, false);
+
+		return chunk;
+	}
+
+	/**	Reads a chunk from disk into memory, unless another thread already has.
+		If far more chunks than the budget are in memory, such as while the level is being read or if paging has fallen behind, the oldest are dropped now.
+		@param key The chunk index
+		@param ahead True if the chunk is being loaded ahead of time, rather than because it is needed now
+		@return The chunk, or null if it was being loaded ahead of time but this grid has been closed
+	*/
+	private Chunk load(int key, boolean ahead) {
+		synchronized (file) {
+			Chunk chunk = chunks.get(key);
+
+			if (chunk != null)
+				return chunk;
+
+			if (closed) {
+				if (ahead)
+					return null;
+
+				throw new IllegalStateException("Could not load level chunk " + key + ", as the grid has been closed");
+			}
+
+			chunk = read(key);
+			chunks.set(key, chunk);
+			resident.add(key);
+
+			if (ahead)
+				loadsAhead++;
+			else
+				loadsOnDemand++;
+
+			if (resident.size() > limit) {
+				Integer[] keys = resident.toArray(new Integer[resident.size()]);
+
+				for (int i=0; i < keys.length && resident.size() > budget; i++) {
+					if (keys[i] != key && distance(keys[i], focusX, focusY) > FOCUS_RADIUS)
+						evict(keys[i]);
+				}
+			}
+
+			return chunk;
+		}
+	}
+
+	/**	Writes a chunk to disk if it has changed, and drops it from memory. Must be called while holding the lock on file.
+		@param key The chunk index
+	*/
+	private void evict(int key) {
+		Chunk chunk = chunks.get(key);
+
+		synchronized (chunk) {
+			if (chunk.dirty)
+				write(key, chunk);
+
+			chunk.evicted = true;
+		}
+
+		chunks.set(key, null);
+		resident.remove(key);
+		evictions++;
+	}
+
+	/**	Reads a chunk from disk. Chunks that have never been written are air.
+		@param key The chunk index
+		@return The chunk read
+	*/
+	private Chunk read(int key) {
+		Chunk chunk = new Chunk();
+		long offset = (long)key * CHUNK_BYTES;
+
+		try {
+			if (offset >= file.length())
+				return chunk;
+
+			byte[] bytes = new byte[CHUNK_BYTES];
+			file.seek(offset);
+			file.readFully(bytes);
+
+			ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			buffer.asShortBuffer().get(chunk.materials);
+
+			long[] bits = new long[CHUNK_LONGS];
+			buffer.position(CHUNK_TILES * 2);
+			buffer.asLongBuffer().get(bits);
+			chunk.animated = BitSet.valueOf(bits);
+
+			buffer.position(CHUNK_TILES * 2 + CHUNK_LONGS * 8);
+			buffer.asLongBuffer().get(chunk.interactive);
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not read level chunk " + key, e);
+		}
+
+		return chunk;
+	}
+
+	/**	Writes a chunk to disk.
+		@param key The chunk index
+		@param chunk The chunk to write
+	*/
+	private void write(int key, Chunk chunk) {
+		ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BYTES);
+		buffer.asShortBuffer().put(chunk.materials);
+
+		buffer.position(CHUNK_TILES * 2);
+		buffer.asLongBuffer().put(chunk.animated.toLongArray());
+
+		buffer.position(CHUNK_TILES * 2 + CHUNK_LONGS * 8);
+		buffer.asLongBuffer().put(chunk.interactive);
+
+		try {
+			file.seek((long)key * CHUNK_BYTES);
+			file.write(buffer.array());
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not write level chunk " + key, e);
+		}
+	}
+
+	/**	Closes the file holding the chunks that are not in memory and deletes it. Paging that was queued before this does nothing.
+	*/
+	public void close() {
+		synchronized (file) {
+			if (closed)
+				return;
+
+			closed = true;
+
+			try {
+				file.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+
+			if (!path.delete())
+				System.out.println("Could not delete " + path);
+		}
+	}
+
+	/**	Returns the number of chunks in memory.
+		@return The number of chunks in memory
+	*/
+	public int getResidentChunks() {
+		synchronized (file) {
+			return resident.size();
+		}
+	}
+
+	/**	Returns the number of chunks this grid tries to keep in memory.
+		@return The chunk budget
+	*/
+	public int getChunkBudget() {
+		return budget;
+	}
+
+	/**	Returns the number of chunks loaded in the background, ahead of being needed.
+		@return The number of chunks loaded ahead of time
+	*/
+	public long getLoadsAhead() {
+		return loadsAhead;
+	}
+
+	/**	Returns the number of chunks loaded on the spot because they were needed before being loaded in the background, including while the level was read.
+		@return The number of chunks loaded on demand
+	*/
+	public long getLoadsOnDemand() {
+		return loadsOnDemand;
+	}
+
+	/**	Returns the number of chunks dropped from memory.
+		@return The number of chunks dropped
+	*/
+	public long getEvictions() {
+		return evictions;
+	}
+
+	/**	A square of tiles that is loaded and dropped as a unit.
+	*/
+	private static final class Chunk {
+		short[] materials = new short[CHUNK_TILES];
+		BitSet animated = new BitSet(CHUNK_TILES);
+		long[] interactive = new long[CHUNK_LONGS];	// a long for each two rows, so a row can be searched in one word
+
+		boolean dirty;		// changed since it was read from disk
+		boolean evicted;	// dropped from memory, so changes to it would be lost
+	}
+}
@@ -2,22 +2,27 @@ package me.kyle1320.platformer;
 
 import java.awt.Graphics2D;
 
+import java.util.Random;
+
 /**	A cloud that spawns above a level and moves across the level.
 	@author Kyle Cutler
 	@version 1/12/14
 */
 public class Cloud extends Entity {
+	private int type;	// which of the cloud sprites this cloud uses
+
 	/**	Creates a new Cloud.
 		@param game The game this cloud is to be added to.
 	*/
 	public Cloud(GameState game) {
 				// choose a random cloud sprite
-		super(	GameSprite.values()[(int)(Math.random()*3)+GameSprite.cloud1.ordinal()].getSprite(),
+		this(	game, game.getRandom().nextInt(3),
 						 // spawn 1-2 blocks above the level
-				game, 0, game.getLevel().getHeight()+Math.random()+1, 0, 0);
+				game.getLevel().getHeight()+game.getRandom().nextDouble()+1);
 
 		// random movement from -2 to -1 or 1 to 2
-		double movement = ((int)(Math.random()+0.5)*2-1)*(Math.random()+1);
+		Random random = game.getRandom();
+		double movement = (random.nextBoolean()?1:-1)*(random.nextDouble()+1);
 
 		setMovementX(movement);
 
@@ -27,13 +32,44 @@ public class Cloud extends Entity {
 			setX(game.getLevel().getWidth()-0.01);
 	}
 
+	/**	Creates a new Cloud of the given type that is not moving, such as one whose state is about to be restored from a GameSnapshot.
+		@param game The game this cloud is to be added to
+		@param type Which of the cloud sprites to use, from 0 to 2
+		@param y The y coordinate of this cloud
+	*/
+	Cloud(GameState game, int type, double y) {
+		super(GameSprite.values()[type+GameSprite.cloud1.ordinal()].getSprite(), game, 0, y, 0, 0);
+
+		this.type = type;
+	}
+
+	/**	Returns which of the cloud sprites this cloud uses.
+		@return The cloud type, from 0 to 2
+	*/
+	public int getType() {
+		return type;
+	}
+
 	/**	Clouds need custom update handling, since they do not collide or fall like normal entities. This method just moves the cloud.
 	*/
 	@Override
 	public void update() {
+		rememberPosition();
 		moveNormally(UPDATE_DELAY / 1000.0);
 
 		if (getMaxX() < 0 || getMinX() > getGame().getLevel().getWidth())
 			die();
 	}
+
+	/**	Clouds move at a steady speed, so they can catch up on any number of missed updates in one move.
+		@param ticks The number of updates missed
+	*/
+	@Override
+	public void catchUp(int ticks) {
+		rememberPosition();
+		moveNormally(ticks * (UPDATE_DELAY / 1000.0));
+
+		if (getMaxX() < 0 || getMinX() > getGame().getLevel().getWidth())
+			die();
+	}
 }
\ No newline at end of file
@@ -27,12 +27,26 @@ public class Collidable {
 		@return The CollisionAxis representing which sides of this object collided with the bounding rectangle
 	*/
 	public CollisionAxis pushInBounds(double minx, double miny, double maxx, double maxy) {
+		CollisionAxis collision = new CollisionAxis();
+		pushInBounds(minx, miny, maxx, maxy, collision);
+
+		return collision;
+	}
+
+	/**	Moves this object so that its shape lies within the given bounds, storing which sides collided in an existing CollisionAxis rather than creating one.
+		@param minx The minimum x coordinate of the rectangle to push this object within
+		@param maxx The maximum x coordinate of the rectangle to push this object within
+		@param miny The minimum y coordinate of the rectangle to push this object within
+		@param maxy The maximum y coordinate of the rectangle to push this object within
+		@param collision The CollisionAxis to overwrite with which sides of this object collided with the bounding rectangle
+	*/
+	public void pushInBounds(double minx, double miny, double maxx, double maxy, CollisionAxis collision) {
 		double thisMinX = shape.getMinX();
 		double thisMinY = shape.getMinY();
 		double thisMaxX = shape.getMaxX();
 		double thisMaxY = shape.getMaxY();
 
-		CollisionAxis collision = new CollisionAxis();
+		collision.clear();
 
 		if (x + thisMinX < minx) {
 			x = minx - thisMinX;
@@ -50,8 +64,6 @@ public class Collidable {
 			y = maxy - thisMaxY;
 			collision.north = true;
 		}
-
-		return collision;
 	}
 
 	/**	Returns the Chebyshev (as opposed to Euclidean) distance this Collidable is from another.
@@ -109,6 +121,88 @@ public class Collidable {
 		return c;//.collision;
 	}
 
+	/**	Collides this Collidable with another, storing the result in an existing Collision rather than creating one.
+		@param other The other Collidable to collide with
+		@param mx The x movement of this Collidable as it collided with the other
+		@param my The y movement of this Collidable as it collided with the other
+		@param result The Collision to overwrite with which sides of this object collided with the other object
+	*/
+	public void collideWith(Collidable other, double mx, double my, Collision result) {
+		shape.collideWith(x, y, mx, my, other.shape, other.x, other.y, result);
+	}
+
+	/**	Sweeps this Collidable along the given movement and finds when it would first touch another Collidable.
+		Contact is only recorded if it happens earlier than the contact already in the result, so this can be called for many Collidables in turn.
+		Collidables that this one already overlaps are ignored, as they are left to collideWith.
+		@param other The other Collidable to sweep against
+		@param mx The x movement of this Collidable
+		@param my The y movement of this Collidable
+		@param result The Sweep holding the earliest contact found so far
+		@return True if the result was changed
+	*/
+	public boolean sweep(Collidable other, double mx, double my, Sweep result) {
+		double error = 1.0e-9;	// shrink slightly, so sliding along a surface doesn't catch on it
+
+		double thisMinX = getMinX() + error;
+		double thisMinY = getMinY() + error;
+		double thisMaxX = getMaxX() - error;
+		double thisMaxY = getMaxY() - error;
+
+		double entryX, exitX, entryY, exitY;
+
+		if (mx > 0) {
+			entryX = (other.getMinX() - thisMaxX) / mx;
+			exitX = (other.getMaxX() - thisMinX) / mx;
+		} else if (mx < 0) {
+			entryX = (other.getMaxX() - thisMinX) / mx;
+			exitX = (other.getMinX() - thisMaxX) / mx;
+		} else if (thisMaxX > other.getMinX() && thisMinX < other.getMaxX()) {
+			entryX = Double.NEGATIVE_INFINITY;
+			exitX = Double.POSITIVE_INFINITY;
+		} else {
+			return false;
+		}
+
+		if (my > 0) {
+			entryY = (other.getMinY() - thisMaxY) / my;
+			exitY = (other.getMaxY() - thisMinY) / my;
+		} else if (my < 0) {
+			entryY = (other.getMaxY() - thisMinY) / my;
+			exitY = (other.getMinY() - thisMaxY) / my;
+		} else if (thisMaxY > other.getMinY() && thisMinY < other.getMaxY()) {
+			entryY = Double.NEGATIVE_INFINITY;
+			exitY = Double.POSITIVE_INFINITY;
+		} else {
+			return false;
+		}
+
+		double entry = Math.max(entryX, entryY);
+		double exit = Math.min(exitX, exitY);
+
+		if (entry < 0 || entry >= exit || entry > result.time || (entry == result.time && result.hit()))
+			return false;
+
+		result.time = entry;
+		result.contact = true;
+		result.otherX = other.x;
+		result.otherY = other.y;
+		result.collision.clear();
+
+		if (entryX > entryY) {	// the axis that started overlapping last is the side we hit
+			if (mx > 0)
+				result.collision.east = true;
+			else
+				result.collision.west = true;
+		} else {
+			if (my > 0)
+				result.collision.north = true;
+			else
+				result.collision.south = true;
+		}
+
+		return true;
+	}
+
 	/**	Moves this object some distance in the x and y direction.
 		@param mx The distance to move along the x axis
 		@param my The distance to move along the y axis
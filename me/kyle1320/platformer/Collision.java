@@ -27,4 +27,12 @@ public final class Collision {
 		this.y = y;
 		this.collision = axis;
 	}
+
+	/**	Resets this Collision to zero movement and no collided sides, so that it can be reused.
+	*/
+	public void reset() {
+		this.x = 0.0;
+		this.y = 0.0;
+		this.collision.clear();
+	}
 }
\ No newline at end of file
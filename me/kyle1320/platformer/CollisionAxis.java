@@ -27,4 +27,13 @@ public final class CollisionAxis {
 		this.east = east;
 		this.west = west;
 	}
+
+	/**	Sets every collision direction to false, so that this CollisionAxis can be reused.
+	*/
+	public void clear() {
+		this.north = false;
+		this.south = false;
+		this.east = false;
+		this.west = false;
+	}
 }
\ No newline at end of file
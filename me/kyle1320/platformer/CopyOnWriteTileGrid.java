@@ -0,0 +1,309 @@
+package me.kyle1320.platformer;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**	A TileGrid that reads through to another grid which is never changed, and only copies the parts of it that are written to.
+	This lets every attempt at a level share one parsed copy of it, so starting an attempt costs nothing for the tiles it never changes.
+	Rows are split into segments of 64 tiles, and a segment is copied the first time a tile in it is set.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class CopyOnWriteTileGrid implements TileGrid {
+	private static final int SEGMENT_SHIFT = 6;
+	static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;		// tiles in a segment, one long of flags
+	private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+	private static final Material[] MATERIALS = Material.values();
+
+	private TileGrid base;
+	private int width;
+	private int segmentsWide;
+
+	// copied segments by row then segment, null for rows and segments still read from the base grid
+	private short[][][] materials;
+	private long[][] animatedTiles, interactiveTiles;	// a long of flags for each copied segment of each changed row
+
+	private int copiedSegments;
+
+	// the rows that have copied segments, in the order they were first changed
+	private int[] changedRows = new int[16];
+	private int changedRowCount;
+
+	/**	Creates a new CopyOnWriteTileGrid over the given grid. The base grid must not be changed while this grid is in use.
+		@param base The grid to read through to
+		@param width The level width
+		@param height The level height
+	*/
+	public CopyOnWriteTileGrid(TileGrid base, int width, int height) {
+		this.base = base;
+		this.width = width;
+		this.segmentsWide = (width + SEGMENT_MASK) >> SEGMENT_SHIFT;
+
+		this.materials = new short[height][][];
+		this.animatedTiles = new long[height][];
+		this.interactiveTiles = new long[height][];
+	}
+
+	/**	Returns the material id of the tile at the given coordinates.
+		@param x The x coordinate
+		@param y The y coordinate
+		@return The ordinal of the tile's Material
+	*/
+	public short getMaterial(int x, int y) {
+		short[][] row = materials[y];
+
+		if (row != null) {
+			short[] segment = row[x >> SEGMENT_SHIFT];
+
+			if (segment != null)
+				return segment[x & SEGMENT_MASK];
+		}
+
+		return base.getMaterial(x, y);
+	}
+
+	/**	Sets the tile at the given coordinates, copying the segment it is in from the base grid first if needed.
+		@param x The x coordinate
+		@param y The y coordinate
+		@param material The ordinal of the tile's new Material
+		@param animated True if the tile is animated
+		@param interactive True if the tile has an interaction that might act
+	*/
+	public void setTile(int x, int y, short material, boolean animated, boolean interactive) {
+		int s = x >> SEGMENT_SHIFT;
+		short[] segment = copySegment(y, s);
+		long bit = 1L << (x & SEGMENT_MASK);
+
+		segment[x & SEGMENT_MASK] = material;
+
+		if (animated)
+			animatedTiles[y][s] |= bit;
+		else
+			animatedTiles[y][s] &= ~bit;
+
+		if (interactive)
+			interactiveTiles[y][s] |= bit;
+		else
+			interactiveTiles[y][s] &= ~bit;
+	}
+
+	/**	Returns the copy of a segment, copying it from the base grid if it has not been copied yet.
+		@param y The y coordinate of the row
+		@param s The index of the segment in the row
+		@return The material ids of the segment
+	*/
+	private short[] copySegment(int y, int s) {
+		if (materials[y] == null) {
+			materials[y] = new short[segmentsWide][];
+			animatedTiles[y] = new long[segmentsWide];
+			interactiveTiles[y] = new long[segmentsWide];
+
+			if (changedRowCount == changedRows.length)
+				changedRows = Arrays.copyOf(changedRows, changedRowCount * 2);
+			changedRows[changedRowCount++] = y;
+		}
+
+		short[] segment = materials[y][s];
+
+		if (segment == null) {
+			int minx = s << SEGMENT_SHIFT;
+			int maxx = Math.min(width, minx + SEGMENT_SIZE) - 1;
+			long animated = 0;
+			long interactive = 0;
+
+			segment = new short[SEGMENT_SIZE];
+
+			for (int x=minx; x <= maxx; x++) {
+				segment[x - minx] = base.getMaterial(x, y);
+
+				if (MATERIALS[segment[x - minx]].isAnimated())
+					animated |= 1L << (x - minx);
+			}
+
+			for (int x = base.nextInteractiveTile(y, minx, maxx); x >= 0; x = x < maxx ? base.nextInteractiveTile(y, x+1, maxx) : -1)
+				interactive |= 1L << (x - minx);
+
+			materials[y][s] = segment;
+			animatedTiles[y][s] = animated;
+			interactiveTiles[y][s] = interactive;
+			copiedSegments++;
+		}
+
+		return segment;
+	}
+
+	/**	Finds the first interactive tile in a row, within a range of x coordinates, looking in copied segments where there are any and in the base grid elsewhere.
+		@param y The y coordinate of the row
+		@param minx The first x coordinate to look at
+		@param maxx The last x coordinate to look at
+		@return The x coordinate of the first interactive tile, or -1 if there is none in the range
+	*/
+	public int nextInteractiveTile(int y, int minx, int maxx) {
+		short[][] row = materials[y];
+
+		if (row == null)
+			return base.nextInteractiveTile(y, minx, maxx);
+
+		for (int s = minx >> SEGMENT_SHIFT; s <= maxx >> SEGMENT_SHIFT; s++) {
+			int start = Math.max(minx, s << SEGMENT_SHIFT);
+			int end = Math.min(maxx, (s << SEGMENT_SHIFT) + SEGMENT_MASK);
+
+			if (row[s] == null) {
+				int x = base.nextInteractiveTile(y, start, end);
+
+				if (x >= 0)
+					return x;
+			} else {
+				long bits = interactiveTiles[y][s] & (-1L << (start & SEGMENT_MASK));
+
+				if (end - (s << SEGMENT_SHIFT) < SEGMENT_MASK)
+					bits &= (1L << (end - (s << SEGMENT_SHIFT) + 1)) - 1;
+
+				if (bits != 0)
+					return (s << SEGMENT_SHIFT) + Long.numberOfTrailingZeros(bits);
+			}
+		}
+
+		return -1;
+	}
+
+	/**	Returns the animated tiles of the base grid that have not been copied, along with the animated tiles in copied segments.
+		@return The index (y*width + x) of each animated tile, in increasing order
+	*/
+	public int[] getAnimatedTiles() {
+		int[] baseTiles = base.getAnimatedTiles();
+		int[] tiles = new int[baseTiles.length + copiedSegments * SEGMENT_SIZE];
+		int n = 0;
+
+		for (int i : baseTiles) {
+			int y = i / width;
+			int x = i % width;
+
+			if (materials[y] == null || materials[y][x >> SEGMENT_SHIFT] == null)
+				tiles[n++] = i;
+		}
+
+		for (int y=0; y < materials.length; y++) {
+			if (materials[y] == null)
+				continue;
+
+			for (int s=0; s < segmentsWide; s++) {
+				for (long bits = animatedTiles[y][s]; bits != 0; bits &= bits - 1)
+					tiles[n++] = y*width + (s << SEGMENT_SHIFT) + Long.numberOfTrailingZeros(bits);
+			}
+		}
+
+		tiles = Arrays.copyOf(tiles, n);
+		Arrays.sort(tiles);
+
+		return tiles;
+	}
+
+	/**	Passes the focus on to the base grid.
+		@param x The x coordinate
+		@param y The y coordinate
+	*/
+	public void focus(double x, double y) {
+		base.focus(x, y);
+	}
+
+	/**	Does nothing, as the base grid is shared with every other copy of it and is closed by its owner.
+	*/
+	public void close() {}
+
+	/**	<pre>Writes every copied segment, for a GameSnapshot. The format is:
+	int		Number of copied segments
+Then, for each segment:
+	int		Row
+	int		Segment index in the row
+	short[]	Material ids of the segment's 64 tiles
+	long	Animated tiles of the segment, a bit per tile
+	long	Interactive tiles of the segment, a bit per tile</pre>
+		@param out The stream to write to
+	*/
+	void writeChanges(DataOutputStream out) throws IOException {
+		out.writeInt(copiedSegments);
+
+		for (int i=0; i < changedRowCount; i++) {
+			int y = changedRows[i];
+
+			for (int s=0; s < segmentsWide; s++) {
+				short[] segment = materials[y][s];
+
+				if (segment == null)
+					continue;
+
+				out.writeInt(y);
+				out.writeInt(s);
+
+				for (short material : segment)
+					out.writeShort(material);
+
+				out.writeLong(animatedTiles[y][s]);
+				out.writeLong(interactiveTiles[y][s]);
+			}
+		}
+	}
+
+	/**	Drops every copied segment, so the grid is the same as its base again, then reads the segments written by writeChanges.
+		This only takes time for the segments copied before and the segments read.
+		@param in The stream to read from
+	*/
+	void readChanges(DataInputStream in) throws IOException {
+		for (int i=0; i < changedRowCount; i++) {
+			materials[changedRows[i]] = null;
+			animatedTiles[changedRows[i]] = null;
+			interactiveTiles[changedRows[i]] = null;
+		}
+
+		changedRowCount = 0;
+		copiedSegments = 0;
+
+		int count = in.readInt();
+
+		for (int i=0; i < count; i++) {
+			int y = in.readInt();
+			int s = in.readInt();
+
+			if (y < 0 || y >= materials.length || s < 0 || s >= segmentsWide)
+				throw new IOException("Tile segment out of bounds: row " + y + ", segment " + s);
+
+			short[] segment = copySegment(y, s);
+
+			for (int x=0; x < SEGMENT_SIZE; x++)
+				segment[x] = in.readShort();
+
+			animatedTiles[y][s] = in.readLong();
+			interactiveTiles[y][s] = in.readLong();
+		}
+	}
+
+	/**	Returns the segments that have been copied from the base grid, so that only the tiles in them need to be looked at again.
+		@return The index (y*width + x) of the first tile of each copied segment
+	*/
+	int[] getCopiedSegments() {
+		int[] segments = new int[copiedSegments];
+		int n = 0;
+
+		for (int i=0; i < changedRowCount; i++) {
+			int y = changedRows[i];
+
+			for (int s=0; s < segmentsWide; s++) {
+				if (materials[y][s] != null)
+					segments[n++] = y*width + (s << SEGMENT_SHIFT);
+			}
+		}
+
+		return segments;
+	}
+
+	/**	Returns the number of tiles that have been copied from the base grid, which is the most memory this grid uses beyond its base.
+		@return The number of tiles in copied segments
+	*/
+	public int getCopiedTiles() {
+		return copiedSegments * SEGMENT_SIZE;
+	}
+}
@@ -44,4 +44,15 @@ public abstract class Displayable implements Updatable, KeyListener, MouseListen
 		@param height The height to draw the display
 	*/
 	public abstract void draw(Graphics2D g, int width, int height);
+
+	/**	Draws the object on the given Graphics2D object, with the given screen width and height, interpolating any movement since the last update.
+		By default the interpolation amount is ignored.
+		@param g The Graphics2D object on which to draw
+		@param width The width to draw the display
+		@param height The height to draw the display
+		@param alpha How far the current time is between the last update and the next, from 0 to 1
+	*/
+	public void draw(Graphics2D g, int width, int height, double alpha) {
+		draw(g, width, height);
+	}
 }
\ No newline at end of file
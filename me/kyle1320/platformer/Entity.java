@@ -1,6 +1,9 @@
 package me.kyle1320.platformer;
 
 import java.awt.Graphics2D;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 
 /**	Represents a moving entity in the game.
@@ -14,12 +17,24 @@ public class Entity extends Collidable implements Updatable {
 	private double movX;
 	private double movY;
 
+	private double prevX, prevY;	// position before the last update, for drawing between updates
+
 	private double walkingMovement;
 
+	// reused for every collision so that moving doesn't create garbage
+	private final Collision collision = new Collision();
+	private final CollisionAxis bounds = new CollisionAxis();
+	private final Sweep sweep = new Sweep();
+	private Tile nearbyTile, neighbourTile;	// reused to look at tiles, since the level only makes them when asked
+
+	private boolean continuous;	// true to sweep along movement so fast entities can't pass through thin walls
+
 	private boolean touchUp, touchDown, touchLeft, touchRight; // tile contact booleans
 	private boolean direction;	// true for right facing, false for left facing
 	private boolean dead;
 
+	private long asleepSince = -1;	// the first update missed while too far from the player to simulate, or -1 if awake, see EntityScheduler
+
 	/**	Creates a new Entity with the given information.
 		@param sprite The Sprite that represents this Entity
 		@param game The GameState that holds this Entity
@@ -36,6 +51,9 @@ public class Entity extends Collidable implements Updatable {
 		this.movX = movX;
 		this.movY = movY;
 
+		this.prevX = posX;
+		this.prevY = posY;
+
 		this.walkingMovement = 0;
 
 		this.direction = true;
@@ -46,6 +64,8 @@ public class Entity extends Collidable implements Updatable {
 	*/
 	public void update() {
 		//System.out.println(getX() + ", " + getY());
+		rememberPosition();
+
 		push(0, -UPDATE_DELAY / 50.0);
 		resetTouches();
 
@@ -56,6 +76,52 @@ public class Entity extends Collidable implements Updatable {
 		//System.out.println(touchUp + ", " + touchDown + ", " + touchLeft + ", " + touchRight);
 	}
 
+	/**	Brings this Entity up to date after it has missed some updates. This runs an update for each one,
+		which is exact for entities that collide; entities that move more simply can override this to catch up in one step.
+		@param ticks The number of updates missed
+	*/
+	public void catchUp(int ticks) {
+		for (int i=0; i < ticks; i++)
+			update();
+	}
+
+	/**	Returns the first update this Entity missed while asleep.
+		@return The number of the update, or -1 if this Entity is awake
+	*/
+	long getAsleepSince() {
+		return asleepSince;
+	}
+
+	/**	Sets the first update this Entity missed while asleep.
+		@param asleepSince The number of the update, or -1 if this Entity is awake
+	*/
+	void setAsleepSince(long asleepSince) {
+		this.asleepSince = asleepSince;
+	}
+
+	/**	Saves this Entity's current position as its position before the next update.
+	*/
+	public void rememberPosition() {
+		prevX = getX();
+		prevY = getY();
+	}
+
+	/**	Returns this Entity's x coordinate between its previous and current position.
+		@param alpha How far between the previous position (0) and the current position (1) to return
+		@return The interpolated x coordinate
+	*/
+	public double getX(double alpha) {
+		return prevX + (getX() - prevX) * alpha;
+	}
+
+	/**	Returns this Entity's y coordinate between its previous and current position.
+		@param alpha How far between the previous position (0) and the current position (1) to return
+		@return The interpolated y coordinate
+	*/
+	public double getY(double alpha) {
+		return prevY + (getY() - prevY) * alpha;
+	}
+
 	/**	"Kills" this Entity. This means that the entity should be removed from the game.
 	*/
 	public void die() {
@@ -76,29 +142,60 @@ public class Entity extends Collidable implements Updatable {
 		double width = game.getLevel().getWidth();
 		double height = game.getLevel().getHeight();
 
-		moveNormally(time);										// move first
+		if (continuous)
+			sweepUntilCollision(time);							// move only as far as the first tile in the way
+		else
+			moveNormally(time);									// move first
 
-		handleCollision(pushInBounds(0, 0, width, Double.POSITIVE_INFINITY));		// move inside the screen (unbounded upper y)
+		pushInBounds(0, 0, width, Double.POSITIVE_INFINITY, bounds);		// move inside the screen (unbounded upper y)
+		handleCollision(bounds);
 
 		collideWithNearbyTiles();								// then collide with tiles
 	}
 
+	/**	Moves this Entity over the given amount of time, stopping at each solid tile in its way and sliding along it.
+		@param time The amount of time over which to move
+	*/
+	private void sweepUntilCollision(double time) {
+		double mx = (movX + walkingMovement) * time;
+		double my = movY * time;
+
+		// a move can hit at most one wall and one floor or ceiling, but allow one more for corners
+		for (int i=0; i < 3 && (mx != 0 || my != 0); i++) {
+			game.getLevel().sweep(this, mx, my, sweep);
+
+			move(mx * sweep.time, my * sweep.time);
+
+			if (!sweep.hit())
+				break;
+
+			mx *= 1 - sweep.time;							// slide along the tile for the rest of the movement
+			my *= 1 - sweep.time;
+
+			if (sweep.collision.east || sweep.collision.west)
+				mx = 0;
+			if (sweep.collision.north || sweep.collision.south)
+				my = 0;
+
+			handleCollision(sweep.collision);
+		}
+	}
+
 	/**	Collides this Entity with any nearby tiles.
 	*/
 	private void collideWithNearbyTiles() {
+		Level level = game.getLevel();
+
 		int minx = (int)Math.max(0, getMinX());		// get any tiles we overlap with
 		int miny = (int)Math.max(0, getMinY());
 
-		int maxx = (int)Math.min(game.getLevel().getWidth() - 1, getMaxX());
-		int maxy = (int)Math.min(game.getLevel().getHeight() - 1, getMaxY());
+		int maxx = (int)Math.min(level.getWidth() - 1, getMaxX());
+		int maxy = (int)Math.min(level.getHeight() - 1, getMaxY());
 
 		for (int y=miny; y <= maxy; y++) {
-			for (int x=minx; x <= maxx; x++) {
-				Tile tile = game.getLevel().getTileAt(x, y);
-
-				if (tile.getProperties().isSolid()) {
-					collideWithTile(tile);
-				}
+			for (int x=level.nextSolidTile(y, minx, maxx); x >= 0; x=level.nextSolidTile(y, x+1, maxx)) {
+				nearbyTile = level.getTileAt(x, y, nearbyTile);
+				collideWithTile(nearbyTile);
 			}
 		}
 	}
@@ -107,38 +204,35 @@ public class Entity extends Collidable implements Updatable {
 		@param tile The tile to collide with
 	*/
 	private void collideWithTile(Tile tile) {
-		Collision c = collideWith(tile, movX, movY);
+		Collision c = collision;
+		collideWith(tile, movX, movY, c);
 
 		CollisionAxis axis = c.collision;	// sometimes if running into a wall, we may get caught on a block in the wall.
-		Tile t;								// we need to test for this here, and if we can't move in the directions we're supposed to,
+											// we need to test for this here, and if we can't move in the directions we're supposed to,
 											// then don't.
 		if (axis.north) {
-			t = tile.getRelative(0, -1);
-			if (t != null && t.getProperties().isSolid() && overlaps(t)) {
+			if (overlapsSolid(tile, 0, -1)) {
 				axis.north = false;
 				c.y = 0;
 			}
 		}
 
 		if (axis.south) {
-			t = tile.getRelative(0, 1);
-			if (t != null && t.getProperties().isSolid() && overlaps(t)) {
+			if (overlapsSolid(tile, 0, 1)) {
 				axis.south = false;
 				c.y = 0;
 			}
 		}
 
 		if (axis.east) {
-			t = tile.getRelative(1, 0);
-			if (t != null && t.getProperties().isSolid() && overlaps(t)) {
+			if (overlapsSolid(tile, 1, 0)) {
 				axis.east = false;
 				c.x = 0;
 			}
 		}
 
 		if (axis.west) {
-			t = tile.getRelative(-1, 0);
-			if (t != null && t.getProperties().isSolid() && overlaps(t)) {
+			if (overlapsSolid(tile, -1, 0)) {
 				axis.west = false;
 				c.x = 0;
 			}
@@ -149,6 +243,38 @@ public class Entity extends Collidable implements Updatable {
 		handleCollision(axis);
 	}
 
+	/**	Sets whether this Entity sweeps along its movement rather than moving and then pushing itself out of tiles.
+		Sweeping stops fast entities from passing through thin walls, at some extra cost per update.
+		@param continuous True to sweep along movement
+	*/
+	public void setContinuousCollision(boolean continuous) {
+		this.continuous = continuous;
+	}
+
+	/**	Returns whether this Entity sweeps along its movement rather than moving and then pushing itself out of tiles.
+		@return True if this Entity sweeps along its movement
+	*/
+	public boolean hasContinuousCollision() {
+		return continuous;
+	}
+
+	/**	Returns true if the tile at the given position relative to a tile is solid and this Entity overlaps it.
+		@param tile The tile to look relative to
+		@param x The relative x coordinate
+		@param y The relative y coordinate
+		@return True if this Entity overlaps a solid tile at that position
+	*/
+	private boolean overlapsSolid(Tile tile, int x, int y) {
+		x += tile.getTileX();
+		y += tile.getTileY();
+
+		if (!game.getLevel().isSolid(x, y))
+			return false;
+
+		neighbourTile = game.getLevel().getTileAt(x, y, neighbourTile);
+		return overlaps(neighbourTile);
+	}
+
 	/**	Resets the contact booleans so that they can be recalculated during an update.
 	*/
 	private void resetTouches() {
@@ -180,12 +306,22 @@ public class Entity extends Collidable implements Updatable {
 		@param scale The amount to scale this Entity's actual width and height by before drawing it
 	*/
 	public void draw(Graphics2D g, double x, double y, double scale) {
-		double realWidth = getWidth() * scale;
-		double realHeight = getHeight() * scale;
+		draw(g, sprite, x, y, getWidth() * scale, getHeight() * scale, direction);
+	}
 
+	/**	Draws an entity's sprite on the given Graphics2D object, if any of it is on the screen.
+		@param g The Graphics2D object on which to draw
+		@param sprite The sprite to draw
+		@param x The x coordinate of the left of the entity
+		@param y The y coordinate of the bottom of the entity
+		@param realWidth The width to draw the entity
+		@param realHeight The height to draw the entity
+		@param facingRight True if the entity faces right, so its sprite is drawn the right way round
+	*/
+	static void draw(Graphics2D g, Sprite sprite, double x, double y, double realWidth, double realHeight, boolean facingRight) {
 		if (x+realWidth > 0 && x < g.getClipBounds().getWidth() &&
 			y+realHeight > 0 && y < g.getClipBounds().getHeight())
-			sprite.draw(g, (int)x, (int)(y-realHeight), (int)realWidth, (int)realHeight, !direction);
+			sprite.draw(g, (int)x, (int)(y-realHeight), (int)realWidth, (int)realHeight, !facingRight);
 	}
 
 	/**	Returns whether or not the top of this entity is touching a tile.
@@ -251,6 +387,43 @@ public class Entity extends Collidable implements Updatable {
 		this.movY += pushY;
 	}
 
+	/**	Writes the state of this Entity that changes as the game is played, for a GameSnapshot. The frame of an animated sprite is not saved.
+		@param out The stream to write to
+	*/
+	void writeState(DataOutputStream out) throws IOException {
+		out.writeDouble(getX());
+		out.writeDouble(getY());
+		out.writeDouble(prevX);
+		out.writeDouble(prevY);
+		out.writeDouble(movX);
+		out.writeDouble(movY);
+		out.writeDouble(walkingMovement);
+		out.writeByte((touchUp ? 1 : 0) | (touchDown ? 2 : 0) | (touchLeft ? 4 : 0) | (touchRight ? 8 : 0)
+			| (direction ? 16 : 0) | (dead ? 32 : 0) | (continuous ? 64 : 0));
+	}
+
+	/**	Reads the state of this Entity written by writeState.
+		@param in The stream to read from
+	*/
+	void readState(DataInputStream in) throws IOException {
+		setX(in.readDouble());
+		setY(in.readDouble());
+		prevX = in.readDouble();
+		prevY = in.readDouble();
+		movX = in.readDouble();
+		movY = in.readDouble();
+		walkingMovement = in.readDouble();
+
+		int flags = in.readByte();
+		touchUp = (flags & 1) != 0;
+		touchDown = (flags & 2) != 0;
+		touchLeft = (flags & 4) != 0;
+		touchRight = (flags & 8) != 0;
+		direction = (flags & 16) != 0;
+		dead = (flags & 32) != 0;
+		continuous = (flags & 64) != 0;
+	}
+
 	/**	Sets this Entity's sprite to the given sprite
 		@param sprite the new Sprite to give this Entity
 	*/
@@ -313,6 +486,13 @@ public class Entity extends Collidable implements Updatable {
 		return sprite;
 	}
 
+	/**	Returns true if this Entity faces right.
+		@return True if this Entity faces right, or false if it faces left
+	*/
+	public boolean isFacingRight() {
+		return direction;
+	}
+
 	/**	Return this Entity's game
 		@return the GameState this Entity
 	*/
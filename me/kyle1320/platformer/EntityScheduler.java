@@ -0,0 +1,206 @@
+package me.kyle1320.platformer;
+
+import java.util.ArrayList;
+
+/**	Updates the entities of a game, other than the player, following a SimulationLod.
+	Entities close to the player are kept in a list that is updated every update. An entity found far from the player is put to sleep in
+	a wheel of lists, one for each update of the level of detail's interval, and is not looked at again until the update it wakes on,
+	when it catches up on every update it missed and goes back to the awake list to be checked again. So each update only touches the
+	entities near the player and the few that wake on it.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class EntityScheduler {
+	private ArrayList<Entity> entities;		// every entity, in the order they were added
+	private ArrayList<Entity> awake;
+	private ArrayList<ArrayList<Entity>> asleep;	// sleeping entities, by the update they wake on modulo the interval
+
+	private SimulationLod lod;
+	private volatile double viewWidth, viewHeight;		// in tiles, set from the drawing thread
+	private long tick;		// the number of the last update run
+	private int clouds;
+
+	/**	Creates a new, empty EntityScheduler.
+		@param lod The simulation level of detail to follow
+	*/
+	public EntityScheduler(SimulationLod lod) {
+		this.entities = new ArrayList<Entity>();
+		this.awake = new ArrayList<Entity>();
+		this.asleep = new ArrayList<ArrayList<Entity>>();
+
+		setLod(lod);
+	}
+
+	/**	Adds an awake Entity.
+		@param e The entity to add
+	*/
+	public void add(Entity e) {
+		entities.add(e);
+		awake.add(e);
+
+		if (e instanceof Cloud)
+			clouds++;
+	}
+
+	/**	Adds an Entity that has missed some updates while asleep, such as one restored from a GameSnapshot.
+		@param e The entity to add
+		@param missed The number of updates the entity has missed, or 0 if it is awake
+	*/
+	void add(Entity e, int missed) {
+		if (missed <= 0) {
+			add(e);
+			return;
+		}
+
+		entities.add(e);
+
+		if (e instanceof Cloud)
+			clouds++;
+
+		// wake on the update that completes an interval of sleep, or on the next update if that has passed, as after the interval changes
+		long asleepSince = tick - missed + 1;
+		e.setAsleepSince(asleepSince);
+		asleep.get((int)(Math.max(tick + 1, asleepSince + lod.getInterval() - 1) % lod.getInterval())).add(e);
+	}
+
+	/**	Runs one update of every entity near the player, puts to sleep the entities that have moved away, and catches up the entities that wake on this update.
+		@param player The player, which decides which entities are near
+	*/
+	public void update(Player player) {
+		int interval = lod.getInterval();
+		double viewWidth = this.viewWidth;
+		double viewHeight = this.viewHeight;
+		tick++;
+
+		int kept = 0;
+
+		for (int i=0; i < awake.size(); i++) {	// indexed rather than an Iterator so that a tick creates no garbage
+			Entity e = awake.get(i);
+
+			if (lod.isNear(e, player, viewWidth, viewHeight)) {
+				e.update();
+
+				if (e.isDead())
+					remove(e);
+				else
+					awake.set(kept++, e);
+			} else {
+				e.setAsleepSince(tick);		// this update is the first it misses
+				asleep.get((int)((tick + interval - 1) % interval)).add(e);
+			}
+		}
+
+		trim(awake, kept);
+
+		ArrayList<Entity> waking = asleep.get((int)(tick % interval));
+
+		for (int i=0; i < waking.size(); i++) {
+			Entity e = waking.get(i);
+
+			e.catchUp((int)(tick - e.getAsleepSince() + 1));
+			e.setAsleepSince(-1);
+
+			if (e.isDead())
+				remove(e);
+			else
+				awake.add(e);	// to be checked again on the next update
+		}
+
+		waking.clear();
+	}
+
+	/**	Removes an entity that has died from every entity list but the one it is being updated from.
+		@param e The dead entity
+	*/
+	private void remove(Entity e) {
+		entities.remove(e);
+
+		if (e instanceof Cloud)
+			clouds--;
+	}
+
+	/**	Removes the elements of a list after the given size, without the garbage of making a sublist.
+		@param list The list to shorten
+		@param size The new size of the list
+	*/
+	private static void trim(ArrayList<Entity> list, int size) {
+		for (int i = list.size() - 1; i >= size; i--)
+			list.remove(i);
+	}
+
+	/**	Returns how many updates an entity has missed while asleep.
+		@param e The entity
+		@return The number of updates missed, or 0 if the entity is awake
+	*/
+	int getMissedUpdates(Entity e) {
+		return e.getAsleepSince() < 0 ? 0 : (int)(tick - e.getAsleepSince() + 1);
+	}
+
+	/**	Sets the simulation level of detail to follow. Every sleeping entity is caught up and woken first, as the wheel is sized by the interval.
+		@param lod The simulation level of detail
+	*/
+	public void setLod(SimulationLod lod) {
+		for (ArrayList<Entity> sleepers : asleep) {
+			for (Entity e : sleepers) {
+				e.catchUp(getMissedUpdates(e));
+				e.setAsleepSince(-1);
+
+				if (e.isDead())
+					remove(e);
+				else
+					awake.add(e);
+			}
+		}
+
+		this.lod = lod;
+
+		asleep.clear();
+		for (int i=0; i < lod.getInterval(); i++)
+			asleep.add(new ArrayList<Entity>());
+	}
+
+	/**	Sets the size of the view the game is drawn in, so that no entity that can be seen is put to sleep. This may be called from any thread.
+		@param width The width of the view, in tiles
+		@param height The height of the view, in tiles
+	*/
+	public void setViewSize(double width, double height) {
+		this.viewWidth = width;
+		this.viewHeight = height;
+	}
+
+	/**	Removes every entity, and sets the number of the last update run, such as before restoring entities from a GameSnapshot.
+		@param tick The number of the last update run
+	*/
+	void clear(long tick) {
+		this.tick = tick;
+
+		entities.clear();
+		awake.clear();
+
+		for (ArrayList<Entity> sleepers : asleep)
+			sleepers.clear();
+
+		clouds = 0;
+	}
+
+	/**	Returns every entity, awake or asleep.
+		@return The list of entities, in the order they were added
+	*/
+	public ArrayList<Entity> getEntities() {
+		return entities;
+	}
+
+	/**	Returns the number of clouds, awake or asleep.
+		@return The number of clouds
+	*/
+	public int getCloudCount() {
+		return clouds;
+	}
+
+	/**	Returns the simulation level of detail being followed.
+		@return The simulation level of detail
+	*/
+	public SimulationLod getLod() {
+		return lod;
+	}
+}
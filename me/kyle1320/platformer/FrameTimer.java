@@ -0,0 +1,88 @@
+package me.kyle1320.platformer;
+
+import java.util.Arrays;
+
+/**	Measures the time between frames drawn, and reports percentiles of the most recent frame times.
+	Frames are timed by whichever thread draws them, and can be read from any thread.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class FrameTimer {
+	static final int DEFAULT_CAPACITY = 4096;	// a little over a minute at 60 frames a second
+
+	private long[] times;	// the most recent frame times, in nanoseconds, as a ring
+	private long frames;	// frame times recorded since the last reset
+	private long last;		// when the last frame was drawn, or -1 if no frame has been drawn since the last reset
+
+	/**	Creates a new FrameTimer that keeps the last DEFAULT_CAPACITY frame times.
+	*/
+	public FrameTimer() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**	Creates a new FrameTimer.
+		@param capacity The number of most recent frame times to keep
+	*/
+	public FrameTimer(int capacity) {
+		this.times = new long[capacity];
+		this.last = -1;
+	}
+
+	/**	Records that a frame is being drawn now, timing it from the last frame.
+	*/
+	public synchronized void frame() {
+		long now = System.nanoTime();
+
+		if (last >= 0)
+			add(now - last);
+
+		last = now;
+	}
+
+	/**	Records the time of one frame.
+		@param nanos The frame time, in nanoseconds
+	*/
+	public synchronized void add(long nanos) {
+		times[(int)(frames % times.length)] = nanos;
+		frames++;
+	}
+
+	/**	Returns a percentile of the recorded frame times, by the nearest rank.
+		@param percent The percentile, from 0 to 100
+		@return The frame time, in nanoseconds, or 0 if no frames have been recorded
+	*/
+	public synchronized long getPercentile(double percent) {
+		int count = (int)Math.min(frames, times.length);
+
+		if (count == 0)
+			return 0;
+
+		long[] sorted = Arrays.copyOf(times, count);
+		Arrays.sort(sorted);
+
+		int rank = (int)Math.ceil(percent / 100 * count) - 1;
+		return sorted[Math.max(0, Math.min(count - 1, rank))];
+	}
+
+	/**	Returns the number of frame times recorded since the last reset, including any no longer kept.
+		@return The number of frames
+	*/
+	public synchronized long getFrames() {
+		return frames;
+	}
+
+	/**	Forgets every frame time recorded. The next frame is not timed, as there is no frame before it to time it from.
+	*/
+	public synchronized void reset() {
+		frames = 0;
+		last = -1;
+	}
+
+	/**	Returns a summary of the recorded frame times.
+		@return The number of frames and the median, 95th percentile, 99th percentile, and longest frame times in milliseconds
+	*/
+	public synchronized String toString() {
+		return String.format("%d frames, p50 %.2f ms, p95 %.2f ms, p99 %.2f ms, max %.2f ms", frames,
+			getPercentile(50) / 1e6, getPercentile(95) / 1e6, getPercentile(99) / 1e6, getPercentile(100) / 1e6);
+	}
+}
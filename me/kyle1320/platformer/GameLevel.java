@@ -1,5 +1,9 @@
 package me.kyle1320.platformer;
 
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+
 /**	An enumeration of levels that can be loaded from and played in the game.
 	@author Kyle Cutler
 	@version 12/31/13
@@ -14,6 +18,9 @@ public enum GameLevel {
 	private String name;
 	private String fileName;
 
+	// the level as read from its file, which is never played itself but copied for each attempt
+	private Level pristine;
+
 	/**	Create a new GameLevel with the given level name and file name
 		@param name The name for the level
 		@param fileName The file path from which to load the level
@@ -23,11 +30,63 @@ public enum GameLevel {
 		this.fileName = fileName;
 	}
 
-	/**	Creates a new level and returns it
+	/**	Creates a new level and returns it. The level file is only read the first time; after that the level is a copy-on-write copy
+		of the level as it was read, so starting it again does not read or copy the level, and tiles are only copied as the attempt changes them.
 		@return The newly created level
 	*/
 	public Level getLevel() {
-		return new Level(this, fileName);
+		synchronized (this) {
+			if (pristine == null)
+				pristine = getLevel(0);
+		}
+
+		return new Level(pristine);
+	}
+
+	/**	Reads a new level that keeps only some of its tiles in memory, with the rest in a file on disk, and returns it. The level is read from its file every time,
+		and the file on disk is kept until the level is closed, so the level should be closed once it is no longer played.
+		@param memoryBudget Roughly the most bytes of tiles to keep in memory
+		@return The newly created level
+	*/
+	public Level getLevel(long memoryBudget) {
+		Level level = readCompiledLevel(memoryBudget);
+
+		if (level != null)
+			return level;
+
+		return new Level(this, fileName, memoryBudget);
+	}
+
+	/**	Reads this level from the binary file made for it by LevelCompiler, if there is one and it was compiled from the text file as it is now.
+		A compiled level is not read if the text file has been changed since, such as by the LevelEditor, so the game never plays an old copy of a level.
+		@param memoryBudget Roughly the most bytes of tiles to keep in memory, or 0 to keep every tile in memory
+		@return The level read, or null if there is no compiled level, it is out of date, or it could not be read
+	*/
+	private Level readCompiledLevel(long memoryBudget) {
+		String compiledName = fileName.substring(0, fileName.lastIndexOf('.')) + LevelCompiler.EXTENSION;
+		URL url = GameLevel.class.getResource(compiledName);
+
+		if (url == null)
+			return null;
+
+		try {
+			URL source = GameLevel.class.getResource(fileName);
+
+			if (source != null && LevelFile.readSourceHash(url.openStream()) != LevelFile.hashSource(source.openStream())) {
+				System.out.println("Compiled level at " + compiledName + " is out of date, reading " + fileName + " instead");
+				return null;
+			}
+
+			if (url.getProtocol().equals("file"))
+				return LevelFile.read(this, new File(url.toURI()), memoryBudget);
+
+			InputStream in = url.openStream();
+			return LevelFile.read(this, in, memoryBudget);
+		} catch (Exception e) {
+			e.printStackTrace();
+			System.out.println("Could not read compiled level at " + compiledName + ", reading " + fileName + " instead");
+			return null;
+		}
 	}
 
 	/**	Returns the level name
@@ -11,17 +11,23 @@ import java.awt.*;
 
 import java.awt.geom.AffineTransform;
 
-/**	The JPanel that displays the game.
+/**	The JPanel that displays the game. In active mode, frames are drawn on a Canvas filling the panel instead of on the panel itself.
 	@author Kyle Cutler
 	@version 12/31/13
 */
 public class GamePanel extends JPanel implements Updatable {
-	// the screen being displayed
-	private Displayable display;
+	// the screen being displayed. Changed on the event thread, and drawn on the render thread in active mode
+	private volatile Displayable display;
 
 	// szeparate threads for updates and screen redraws
 	private UpdateThread update;
-	private RepaintThread repaint;
+	private RepaintThread repaint;		// in passive mode
+	private RenderThread render;		// in active mode
+
+	private RenderMode mode;
+	private Canvas canvas;			// the canvas frames are drawn on in active mode
+	private Component events;		// the component that receives input: the canvas in active mode, or this panel
+	private FrameTimer frameTimer;
 
 	// save different screens as instance variables so they can be loaded at any time
 	private InGameView game;
@@ -33,30 +39,50 @@ public class GamePanel extends JPanel implements Updatable {
 	private LevelEditor levelEditor;
 	private LevelSelectScreen levelSelect;
 
-	/**	Redraws the current view on this panel
+	/**	Redraws the current view on this panel, in passive mode
 		@param g the Graphics object on which to draw
 	*/
 	public void paintComponent(Graphics g) {
+		if (mode != RenderMode.passive)
+			return;		// the canvas covers this panel, and is drawn by the render thread
+
 		//System.out.println("start " + System.currentTimeMillis());
 
 		int width = (int)g.getClipBounds().getWidth();
 		int height = (int)g.getClipBounds().getHeight();
 
-		Graphics2D g2 = (Graphics2D)g;
+		drawFrame((Graphics2D)g, width, height);
+
+		//System.out.println("stop " + System.currentTimeMillis());
+	}
+
+	/**	Draws a frame of the current view and times it.
+		@param g2 The Graphics2D object on which to draw
+		@param width The width of the frame
+		@param height The height of the frame
+	*/
+	void drawFrame(Graphics2D g2, int width, int height) {
+		frameTimer.frame();
 
 		g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 		g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
 		g2.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_SPEED);
 		g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
 
-		display.draw(g2, width, height);
+		display.draw(g2, width, height, update.getInterpolation());
+	}
 
-		//System.out.println("stop " + System.currentTimeMillis());
+	/**	Creates a new GamePanel that draws in passive mode.
+	*/
+	public GamePanel() {
+		this(RenderMode.passive, 60);
 	}
 
 	/**	Creates a new GamePanel.
+		@param mode How to get frames onto the screen
+		@param targetFps In active mode, the number of frames to draw each second, or 0 to draw frames as fast as they can be shown. Passive mode always asks for about 60
 	*/
-	public GamePanel() {
+	public GamePanel(RenderMode mode, int targetFps) {
 		game = new InGameView(this);
 		mainMenu = new MainMenu(this);
 		pauseMenu = new PauseMenu(this);
@@ -68,24 +94,39 @@ public class GamePanel extends JPanel implements Updatable {
 
 		display = mainMenu;
 
-		update = new UpdateThread(this);
-		repaint = new RepaintThread(this);
+		update = new UpdateThread(this, true);
+		frameTimer = new FrameTimer();
+		this.mode = mode;
+
+		if (mode == RenderMode.active) {
+			canvas = new Canvas();
+			canvas.setIgnoreRepaint(true);
+			canvas.setFocusable(true);
+
+			this.setLayout(new BorderLayout());
+			this.add(canvas);
+
+			render = new RenderThread(canvas, this, targetFps);
+			events = canvas;
+		} else {
+			repaint = new RepaintThread(this);
+			events = this;
+		}
 
 		Input input = new Input();
-		this.addKeyListener(input);
-		this.addMouseListener(input);
-		this.addMouseMotionListener(input);
+		events.addKeyListener(input);
+		events.addMouseListener(input);
+		events.addMouseMotionListener(input);
 
 		this.setPreferredSize(new Dimension(800, 600));
-		this.setFocusable(true);
+		this.setFocusable(mode == RenderMode.passive);
 		addListeners();
 	}
 
 	/**	Stops the threads and exits the program.
 	*/
 	public void exit() {
-		update.stop();
-		repaint.stop();
+		stop();
 		System.exit(0);
 	}
 
@@ -158,18 +199,40 @@ public class GamePanel extends JPanel implements Updatable {
 		setDisplay(game);
 	}
 
-	/**	Starts the update and repaint threads.
+	/**	Starts the update thread, and the repaint or render thread.
 	*/
 	public void start() {
 		update.start();
-		repaint.start();
+
+		if (mode == RenderMode.active)
+			render.start();
+		else
+			repaint.start();
 	}
 
-	/**	Pauses the update and repaint threads.
+	/**	Pauses the update thread, and the repaint or render thread.
 	*/
 	public void stop() {
 		update.stop();
-		repaint.start();
+
+		if (mode == RenderMode.active)
+			render.stop();
+		else
+			repaint.stop();
+	}
+
+	/**	Returns the way this panel gets frames onto the screen.
+		@return The render mode
+	*/
+	public RenderMode getRenderMode() {
+		return mode;
+	}
+
+	/**	Returns the timer of the frames drawn by this panel.
+		@return The frame timer
+	*/
+	public FrameTimer getFrameTimer() {
+		return frameTimer;
 	}
 
 	/**	Updates the view being displayed.
@@ -191,18 +254,18 @@ public class GamePanel extends JPanel implements Updatable {
 	/**	removes the current display from this panel's listeners
 	*/
 	private void removeListeners() {
-		this.removeKeyListener(display);
-		this.removeMouseListener(display);
-		this.removeMouseMotionListener(display);
-		this.removeMouseWheelListener(display);
+		events.removeKeyListener(display);
+		events.removeMouseListener(display);
+		events.removeMouseMotionListener(display);
+		events.removeMouseWheelListener(display);
 	}
 
 	/**	annd the current display to this panel's listeners
 	*/
 	private void addListeners() {
-		this.addKeyListener(display);
-		this.addMouseListener(display);
-		this.addMouseMotionListener(display);
-		this.addMouseWheelListener(display);
+		events.addKeyListener(display);
+		events.addMouseListener(display);
+		events.addMouseMotionListener(display);
+		events.addMouseWheelListener(display);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package me.kyle1320.platformer;
+
+import java.util.Random;
+
+/**	A Random whose state can be read and set, so that a GameSnapshot can save it and a restored game makes the same choices as the original.
+	Numbers are generated exactly as java.util.Random generates them.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class GameRandom extends Random {
+	private static final long serialVersionUID = 1L;
+
+	private static final long MULTIPLIER = 0x5DEECE66DL;
+	private static final long ADDEND = 0xBL;
+	private static final long MASK = (1L << 48) - 1;
+
+	private long state;	// set by setSeed, which Random's constructor calls
+
+	/**	Creates a new GameRandom with a seed that is very likely different from any other.
+	*/
+	public GameRandom() {
+		super();
+	}
+
+	/**	Creates a new GameRandom with the given seed.
+		@param seed The initial seed
+	*/
+	public GameRandom(long seed) {
+		super(seed);
+	}
+
+	/**	Sets the seed of this GameRandom, as Random.setSeed does.
+		@param seed The new seed
+	*/
+	@Override
+	public synchronized void setSeed(long seed) {
+		super.setSeed(seed);
+		state = (seed ^ MULTIPLIER) & MASK;
+	}
+
+	/**	Generates the next pseudorandom number, as Random.next does.
+		@param bits The number of random bits to return
+		@return The next pseudorandom value
+	*/
+	@Override
+	protected int next(int bits) {
+		state = (state * MULTIPLIER + ADDEND) & MASK;
+		return (int)(state >>> (48 - bits));
+	}
+
+	/**	Returns the internal state of this GameRandom. Note that nextGaussian keeps a second value between calls which is not part of this state.
+		@return The state, which setState takes
+	*/
+	public long getState() {
+		return state;
+	}
+
+	/**	Sets the internal state of this GameRandom to one returned by getState.
+		@param state The new state
+	*/
+	public void setState(long state) {
+		this.state = state & MASK;
+	}
+}
@@ -0,0 +1,99 @@
+package me.kyle1320.platformer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**	<pre>The saved state of a GameState, which can be restored into that game or into another game of the same level.
+Snapshots are stored in a compact binary format. All numbers are big-endian, and strings are in modified UTF-8, as DataOutputStream writes them.
+	short	Format version
+	long	Time played
+	boolean	Finished
+	long	Random number generator state
+	int		Level width
+	int		Level height
+	long	Animation tick
+	boolean	True if the level is a copy-on-write copy of another level
+Then, for a copy, the copied tiles as CopyOnWriteTileGrid.writeChanges writes them, or otherwise the material id of every tile in row order.
+	int		Number of tiles with custom data, then for each: int index, short entry count, then each entry as a string
+	int		Number of pressed buttons, then for each: int x, int y
+	Entity	The player, then: byte sprite, byte movement flags, int keys (a bit per KeyType), int points, string message, long message delay
+	int		Number of other entities, then for each: byte cloud type, the Entity, then int updates missed while asleep, see SimulationLod
+Each Entity is: double x, y, previous x, previous y, x movement, y movement, walking movement, then byte flags.</pre>
+	Restoring takes time in proportion to the tiles that have changed in the level, not to the size of the level, when the level is a copy as GameLevel.getLevel returns.
+	The frame of an animated sprite is not saved, since it does not change how the game plays.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class GameSnapshot {
+	public static final short VERSION = 2;
+
+	private byte[] data;
+
+	/**	Creates a new GameSnapshot from snapshot data.
+		@param data The snapshot data, in the snapshot format
+	*/
+	private GameSnapshot(byte[] data) {
+		this.data = data;
+	}
+
+	/**	Saves the state of a game.
+		@param game The game to save
+		@return A snapshot of the game
+	*/
+	public static GameSnapshot take(GameState game) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+		DataOutputStream out = new DataOutputStream(bytes);
+
+		try {
+			out.writeShort(VERSION);
+			game.writeState(out);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);	// writing to memory does not fail
+		}
+
+		return new GameSnapshot(bytes.toByteArray());
+	}
+
+	/**	Creates a GameSnapshot from data returned by toByteArray, such as a snapshot saved to disk.
+		@param data The snapshot data
+		@return The snapshot
+	*/
+	public static GameSnapshot fromByteArray(byte[] data) {
+		return new GameSnapshot(data.clone());
+	}
+
+	/**	Restores a game to the state saved in this snapshot. The game must be of the same level as the game this snapshot was taken of.
+		@param game The game to restore
+		@throws IllegalArgumentException If this snapshot cannot be restored into the given game
+	*/
+	public void restore(GameState game) {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+
+		try {
+			short version = in.readShort();
+			if (version != VERSION)
+				throw new IOException("Unsupported snapshot version " + version);
+
+			game.readState(in);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Could not restore snapshot: " + e.getMessage(), e);
+		}
+	}
+
+	/**	Returns the snapshot data in the snapshot format.
+		@return A copy of the snapshot data
+	*/
+	public byte[] toByteArray() {
+		return data.clone();
+	}
+
+	/**	Returns the size of this snapshot.
+		@return The size of the snapshot data in bytes
+	*/
+	public int getSize() {
+		return data.length;
+	}
+}
@@ -403,6 +403,21 @@ public enum GameSprite {
 		return sprite.copy();
 	}
 
+	/**	Returns the image this GameSprite's sprite shows after the given number of updates. The returned sprite is shared and should not be updated.
+		@param tick The number of updates since the sprite's default state
+		@return The Sprite to draw for that update
+	*/
+	public Sprite getFrame(long tick) {
+		return sprite.getFrame(tick);
+	}
+
+	/**	Returns true if this GameSprite's sprite is animated.
+		@return True if this GameSprite's sprite is animated
+	*/
+	public boolean isAnimated() {
+		return sprite.isAnimated();
+	}
+
 	/**	Returns a paint created from this GameSprite's sprite for use in drawing.
 		@return A TexturePaint created from this GameSprite's sprite
 	*/
@@ -1,7 +1,11 @@
 package me.kyle1320.platformer;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashSet;
+import java.util.Random;
 
 /**	Holds the variables necessary to play the game.
 	@author Kyle Cutler
@@ -12,45 +16,84 @@ public class GameState implements Updatable {
 	private boolean finished;
 
 	private Level level;
+	private InputSource input;
 	private Player player;
-	private ArrayList<Entity> entities;
+	private EntityScheduler entities;	// every entity but the player
 
-	/**	Creates a new GameState from the given level, creating a new Player.
+	private HashSet<Tile> pressedButtons;
+	private GameRandom random;
+	private long seed;
+
+	private InputFrame frame;		// the buttons held during the current update, read from input once per update
+	private InputRecorder recorder;	// records every frame, or null
+
+	/**	Creates a new GameState from the given level, creating a new Player controlled by the keyboard.
 		@param level The level to play
 	*/
 	public GameState(Level level) {
+		this(level, new KeyboardInput());
+	}
+
+	/**	Creates a new GameState from the given level, creating a new Player controlled by the given InputSource.
+		@param level The level to play
+		@param input The InputSource the player reads its movement from
+	*/
+	public GameState(Level level, InputSource input) {
+		this(level, input, new GameRandom().nextLong());
+	}
+
+	/**	Creates a new GameState from the given level, creating a new Player controlled by the given InputSource.
+		Games with the same level, seed and input frames play out exactly the same.
+		@param level The level to play
+		@param input The InputSource the player reads its movement from
+		@param seed The seed for the game's random number generator
+	*/
+	public GameState(Level level, InputSource input, long seed) {
 		this.time = 0;
 		this.finished = false;
 
 		this.level = level;
+		this.input = input;
 		this.player = new Player(level.getPlayerStartX(), level.getPlayerStartY(), this);
-		this.entities = new ArrayList<Entity>();
+		this.entities = new EntityScheduler(SimulationLod.DEFAULT);
+
+		this.pressedButtons = new HashSet<Tile>();
+		this.random = new GameRandom(seed);
+		this.seed = seed;
+		this.frame = new InputFrame();
 	}
 
-	/**	Updates the level and entities, including the player.
+	/**	Reads the buttons held from this game's InputSource, then updates the level and entities, including the player.
 	*/
 	public void update() {
+		frame.read(input);
+		tick();
+	}
+
+	/**	Updates the level and entities with the given buttons held rather than reading them from this game's InputSource, such as when replaying a recording.
+		@param buttons The buttons held during the update, as a combination of the InputFrame buttons
+	*/
+	public void update(int buttons) {
+		frame.setButtons(buttons);
+		tick();
+	}
+
+	/**	Updates the level and entities, including the player, using the current input frame.
+	*/
+	private void tick() {
+		if (recorder != null)
+			recorder.record(frame.getButtons());
+
 		time += UPDATE_DELAY;
 
 		level.update();
 		player.update();
+		level.focus(player.getX(), player.getY());	// so the level can load the tiles around the player ahead of time
 
-		int cloudCount = 0;
-		Entity e;
-		Iterator<Entity> it = entities.iterator();
-		while (it.hasNext()) {
-			e = it.next();
-			e.update();		// update the entity
-
-			if (e instanceof Cloud)
-				cloudCount++;
-
-			if (e.isDead())	// if the entity died
-				it.remove();// remove it
-		}
+		entities.update(player);	// update the entities near the player, and those far away every few updates
 
 		// If there are too few clouds on the screen create a new cloud about every second
-		if (cloudCount < level.getWidth()/2 && Math.random() < UPDATE_DELAY / 1000.0)
+		if (entities.getCloudCount() < level.getWidth()/2 && random.nextDouble() < UPDATE_DELAY / 1000.0)
 			addEntity(new Cloud(this));
 	}
 	
@@ -61,6 +104,104 @@ public class GameState implements Updatable {
 		entities.add(e);
 	}
 
+	/**	Saves the state of this game, so that it can be restored to this point later or a copy of it can be played from here.
+		@return A snapshot of this game
+	*/
+	public GameSnapshot snapshot() {
+		return GameSnapshot.take(this);
+	}
+
+	/**	Restores this game to the state saved in a snapshot of this game or of another game of the same level.
+		@param snapshot The snapshot to restore
+	*/
+	public void restore(GameSnapshot snapshot) {
+		snapshot.restore(this);
+	}
+
+	/**	Writes the state of this game, for a GameSnapshot.
+		@param out The stream to write to
+	*/
+	void writeState(DataOutputStream out) throws IOException {
+		out.writeLong(time);
+		out.writeBoolean(finished);
+		out.writeLong(random.getState());
+
+		level.writeState(out);
+
+		out.writeInt(pressedButtons.size());
+		for (Tile button : pressedButtons) {
+			out.writeInt(button.getTileX());
+			out.writeInt(button.getTileY());
+		}
+
+		player.writeState(out);
+
+		out.writeInt(entities.getEntities().size());
+		for (Entity e : entities.getEntities()) {
+			if (!(e instanceof Cloud))
+				throw new IllegalStateException("Cannot save entities of " + e.getClass());
+
+			Cloud cloud = (Cloud)e;
+
+			out.writeByte(cloud.getType());
+			cloud.writeState(out);
+			out.writeInt(entities.getMissedUpdates(cloud));
+		}
+	}
+
+	/**	Reads the state of this game written by writeState.
+		@param in The stream to read from
+	*/
+	void readState(DataInputStream in) throws IOException {
+		time = in.readLong();
+		finished = in.readBoolean();
+		random.setState(in.readLong());
+
+		level.readState(in);
+
+		pressedButtons.clear();
+		for (int i = in.readInt(); i > 0; i--) {
+			Tile button = level.getTileAt(in.readInt(), in.readInt());
+
+			if (button != null)
+				pressedButtons.add(button);
+		}
+
+		player.readState(in);
+
+		entities.clear(time / UPDATE_DELAY);
+		for (int i = in.readInt(); i > 0; i--) {
+			int type = in.readByte();
+
+			if (type < 0 || type > 2)
+				throw new IOException("Bad cloud type " + type);
+
+			Cloud cloud = new Cloud(this, type, 0);
+			cloud.readState(in);
+
+			int missed = in.readInt();
+			if (missed < 0)
+				throw new IOException("Bad missed update count " + missed);
+
+			entities.add(cloud, missed);
+		}
+	}
+
+	/**	Marks the given button tile as pressed in this game.
+		@param tile The button tile being pressed
+		@return True if the button was not already pressed
+	*/
+	public boolean pressButton(Tile tile) {
+		return pressedButtons.add(tile);
+	}
+
+	/**	Marks the given button tile as no longer pressed in this game.
+		@param tile The button tile being released
+	*/
+	public void releaseButton(Tile tile) {
+		pressedButtons.remove(tile);
+	}
+
 	/**	Marks this GameState as having completed the level.
 	*/
 	public void finishLevel() {
@@ -88,6 +229,56 @@ public class GameState implements Updatable {
 		return level;
 	}
 
+	/**	Returns the buttons held during the current update. The player reads its movement from this rather than from the InputSource.
+		@return The current input frame
+	*/
+	public InputFrame getInputFrame() {
+		return frame;
+	}
+
+	/**	Starts recording the input frame of every update to the given recorder. To be replayed, a game should be recorded from its first update.
+		@param recorder The recorder to add frames to, or null to stop recording
+	*/
+	public void setRecorder(InputRecorder recorder) {
+		this.recorder = recorder;
+	}
+
+	/**	Sets how often entities far from the player are updated.
+		@param lod The simulation level of detail, or SimulationLod.FULL to update every entity every update
+	*/
+	public void setSimulationLod(SimulationLod lod) {
+		entities.setLod(lod);
+	}
+
+	/**	Tells this game how much of the level is on screen, so that entities that can be seen are always updated. This may be called from the drawing thread.
+		@param width The width of the view, in tiles
+		@param height The height of the view, in tiles
+	*/
+	public void setViewSize(double width, double height) {
+		entities.setViewSize(width, height);
+	}
+
+	/**	Returns how often entities far from the player are updated.
+		@return The simulation level of detail
+	*/
+	public SimulationLod getSimulationLod() {
+		return entities.getLod();
+	}
+
+	/**	Returns the seed this game's random number generator started with.
+		@return The seed
+	*/
+	public long getSeed() {
+		return seed;
+	}
+
+	/**	Returns the InputSource controlling the player.
+		@return the InputSource controlling the player
+	*/
+	public InputSource getInput() {
+		return input;
+	}
+
 	/**	Returns the current Player.
 		@return the current player
 	*/
@@ -95,10 +286,17 @@ public class GameState implements Updatable {
 		return player;
 	}
 
+	/**	Returns the random number generator used by this game. Each game has its own so that games running on separate threads do not contend for one.
+		@return The Random used by this game
+	*/
+	public Random getRandom() {
+		return random;
+	}
+
 	/**	Returns an ArrayList of Entities in this game, not including the player.
 		@return An ArrayList of Entities in this game
 	*/
 	public ArrayList<Entity> getEntities() {
-		return entities;
+		return entities.getEntities();
 	}
 }
\ No newline at end of file
@@ -18,11 +18,19 @@ import java.awt.Image;
 public class GameWindow extends JFrame {
 	private GamePanel panel;
 
-	/**	Creates a new GameWindow.
+	/**	Creates a new GameWindow that draws in passive mode.
 	*/
 	public GameWindow() {
+		this(RenderMode.passive, 60);
+	}
+
+	/**	Creates a new GameWindow.
+		@param mode How to get frames onto the screen
+		@param targetFps In active mode, the number of frames to draw each second, or 0 to draw frames as fast as they can be shown
+	*/
+	public GameWindow(RenderMode mode, int targetFps) {
 		super("Platform Game");
-		panel = new GamePanel();
+		panel = new GamePanel(mode, targetFps);
 		setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
 		add(panel);
@@ -51,4 +59,11 @@ public class GameWindow extends JFrame {
 		
 		setVisible(true);
 	}
+
+	/**	Returns the panel that displays the game.
+		@return The GamePanel
+	*/
+	public GamePanel getPanel() {
+		return panel;
+	}
 }
\ No newline at end of file
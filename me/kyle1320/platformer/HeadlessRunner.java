@@ -0,0 +1,85 @@
+package me.kyle1320.platformer;
+
+import java.io.File;
+import java.io.IOException;
+
+/**	Runs a GameState as fast as possible without a window, for checking levels in bulk.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class HeadlessRunner {
+	private GameState game;
+	private ScriptedInput input;
+
+	/**	Creates a new HeadlessRunner that plays the given level using the given script.
+		@param level The level to play
+		@param input The script the player reads its movement from
+	*/
+	public HeadlessRunner(GameLevel level, ScriptedInput input) {
+		this(level.getLevel(), input);
+	}
+
+	/**	Creates a new HeadlessRunner that plays the given level using the given script.
+		@param level The level to play
+		@param input The script the player reads its movement from
+	*/
+	public HeadlessRunner(Level level, ScriptedInput input) {
+		this.input = input;
+		this.game = new GameState(level, input);
+	}
+
+	/**	Updates the game until the level is finished or the given number of updates have run.
+		@param maxTicks The maximum number of updates to run
+		@return The result of the run
+	*/
+	public SimulationResult run(long maxTicks) {
+		long ticks = 0;
+		long start = System.nanoTime();
+
+		while (ticks < maxTicks && !game.isFinished()) {
+			game.update();
+			input.update();
+			ticks++;
+		}
+
+		long nanos = System.nanoTime() - start;
+
+		Player p = game.getPlayer();
+		return new SimulationResult(game.getLevel().getName(), game.isFinished(), p.getPoints(), game.getTime(), ticks, nanos);
+	}
+
+	/**	Returns the game being run.
+		@return The GameState being run
+	*/
+	public GameState getGame() {
+		return game;
+	}
+
+	/**	<pre>Runs a level without a window and prints the result. Arguments are read as follows:
+	0:	String	The GameLevel name, e.g. tutorial
+	1:	long	The maximum number of updates to run (default 100000)
+	2:	String	The input script, see ScriptedInput.parse (default no input)
+	3:	String	A file to save a recording of the run to, for InputReplayer (default none)</pre>
+		@param args A String array of program arguments
+	*/
+	public static void main(String[] args) throws IOException {
+		System.setProperty("java.awt.headless", "true");
+
+		if (args.length < 1) {
+			System.out.println("Usage: HeadlessRunner <level> [maxTicks] [script] [recording]");
+			return;
+		}
+
+		GameLevel level = GameLevel.valueOf(args[0]);
+		long maxTicks = args.length > 1 ? Long.parseLong(args[1]) : 100000;
+		ScriptedInput input = ScriptedInput.parse(args.length > 2 ? args[2] : "");
+
+		HeadlessRunner runner = new HeadlessRunner(level, input);
+		InputRecorder recorder = args.length > 3 ? InputRecorder.start(runner.getGame()) : null;
+
+		System.out.println(runner.run(maxTicks));
+
+		if (recorder != null)
+			recorder.write(new File(args[3]));
+	}
+}
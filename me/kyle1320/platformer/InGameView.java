@@ -15,6 +15,13 @@ public class InGameView extends Displayable {
 	private GameState game;
 	private PlayerHUD hud;
 
+	// snapshots of the game published by the update thread for drawing, so drawing never locks or waits for updates
+	private volatile RenderBuffer snapshots;
+
+	private TileChunkCache tileCache;	// the level's tiles drawn ahead of time, or null to draw every tile every frame
+	private boolean cacheTiles = true;
+	private int tileImagesDrawn;		// images drawn for tiles in the last frame
+
 	/**	Creates a new InGameView with the given GamePanel as its parent.
 		@param parent the GamePanel that holds this view
 	*/
@@ -22,10 +29,11 @@ public class InGameView extends Displayable {
 		this.parent = parent;
 	}
 
-	/**	Updates the game.
+	/**	Updates the game, and publishes a snapshot of it to draw.
 	*/
 	public void update() {
 		game.update();
+		publishSnapshot();
 
 		if (game.isFinished())	// If the player finished the level
 			parent.winScreen();	// Show the win screen
@@ -37,12 +45,40 @@ public class InGameView extends Displayable {
 		
 	}
 
-	/**	Loads the given GameState to display.
+	/**	Loads the given GameState to display. The level of the game it replaces is closed, unless the new game plays the same level.
 		@param game The GameState to display
 	*/
 	public void loadGame(GameState game) {
+		if (this.game != null && this.game.getLevel() != game.getLevel())
+			this.game.getLevel().close();
+
 		this.game = game;
-		this.hud = new PlayerHUD(game.getPlayer());
+		this.hud = new PlayerHUD();
+
+		RenderBuffer snapshots = new RenderBuffer();
+		snapshots.publish(game);	// so the game can be drawn before its first update
+		this.snapshots = snapshots;
+
+		if (tileCache != null)
+			tileCache.dispose();
+
+		this.tileCache = cacheTiles ? new TileChunkCache(game.getLevel(), TILE_SIZE, TileChunkCache.DEFAULT_MAX_CHUNKS) : null;
+	}
+
+	/**	Publishes a snapshot of the game as it is now, for the next frame to draw. This should only be called from the thread updating the game.
+	*/
+	void publishSnapshot() {
+		snapshots.publish(game);
+	}
+
+	/**	Sets whether the level's tiles are drawn from chunks drawn ahead of time, or every tile is drawn every frame.
+		@param cacheTiles True to draw tiles from a TileChunkCache
+	*/
+	public void setCacheTiles(boolean cacheTiles) {
+		this.cacheTiles = cacheTiles;
+
+		if (game != null)
+			loadGame(game);
 	}
 
 	/**	Returns True if a game has been loaded in this view.
@@ -58,60 +94,99 @@ public class InGameView extends Displayable {
 		@param height The height to draw this view
 	*/
 	public void draw(Graphics2D g, int width, int height) {
+		draw(g, width, height, 1.0);
+	}
+
+	/**	Draws this view on the given Graphics2D object, with the given screen width and height. Entities are drawn between their previous and current positions.
+		Everything but the tiles is drawn from the latest snapshot published by the update thread, so drawing takes no locks and never holds up updates.
+		@param g The Graphics2D object on which to draw
+		@param width The width to draw this view
+		@param height The height to draw this view
+		@param alpha How far the current time is between the last update and the next, from 0 to 1
+	*/
+	public void draw(Graphics2D g, int width, int height, double alpha) {
 		Level level = game.getLevel();
-		Player p = game.getPlayer();
 		Background background = level.getBackground();
+		RenderSnapshot snapshot = snapshots.getLatest();
 
 		// convert pixel coordinate width and height to tile coordinates
 		double realWidth = (double)width / TILE_SIZE;
 		double realHeight = (double)height / TILE_SIZE;
+		game.setViewSize(realWidth, realHeight);
 
-		// synchronized with the player so that updates don't affect the player's locaion while we're drawing
-		synchronized (p) {
-			// center around the player, cut off at the left, right, and bottom of the level. The scroll y amount can go up further than the level.
-			double scrollX = Math.max(0, Math.min(level.getWidth() - realWidth, p.getX() + 0.5 - realWidth/2));
-			double scrollY = Math.max(0, p.getY() - realHeight/2);
+		int player = snapshot.getPlayerIndex();
+		double px = snapshot.getX(player, alpha);
+		double py = snapshot.getY(player, alpha);
 
-			// draw the background
-			background.draw(g, (int)(scrollX*TILE_SIZE), (int)(scrollY*TILE_SIZE), width, height);
+		// center around the player, cut off at the left, right, and bottom of the level. The scroll y amount can go up further than the level.
+		double scrollX = Math.max(0, Math.min(level.getWidth() - realWidth, px + 0.5 - realWidth/2));
+		double scrollY = Math.max(0, py - realHeight/2);
 
-			// the first tile we need to draw
-			int firstx = (int)scrollX;
-			int firsty = (int)scrollY;
+		// draw the background
+		background.draw(g, (int)(scrollX*TILE_SIZE), (int)(scrollY*TILE_SIZE), width, height);
 
-			// the screen coordinates of the first tile we draw
-			int startx = (int)(-(scrollX % 1)*TILE_SIZE);
-			int starty = (int)((scrollY % 1)*TILE_SIZE - TILE_SIZE);
+		// the first tile we need to draw
+		int firstx = (int)scrollX;
+		int firsty = (int)scrollY;
 
-			// current x and y coordinates of the tile we're drawing
-			int newx, newy = starty + height;
+		// the screen coordinates of the first tile we draw
+		int startx = (int)(-(scrollX % 1)*TILE_SIZE);
+		int starty = (int)((scrollY % 1)*TILE_SIZE - TILE_SIZE);
 
-			// draw until we reach the edge of the screen
-			for (int y=firsty; newy > -TILE_SIZE; y++, newy -= TILE_SIZE) {
-				newx = startx;
+		if (tileCache != null)
+			tileImagesDrawn = tileCache.draw(g, firstx, firsty, startx, starty, width, height, snapshot.getAnimationTick());
+		else
+			tileImagesDrawn = drawTiles(g, firstx, firsty, startx, starty, width, height, snapshot.getAnimationTick());
 
-				for (int x=firstx; newx < width; x++, newx += TILE_SIZE) {
-					Tile draw = game.getLevel().getTileAt(x, y);
+		// draw each entity and then the player, adjusting screen coordinates depending on the scroll amount
+		for (int i=0; i < snapshot.getEntityCount(); i++) {
+			Entity.draw(g, snapshot.getSprite(i), (snapshot.getX(i, alpha)-scrollX)*TILE_SIZE, height-(snapshot.getY(i, alpha)-scrollY)*TILE_SIZE,
+				snapshot.getWidth(i)*TILE_SIZE, snapshot.getHeight(i)*TILE_SIZE, snapshot.isFacingRight(i));
+		}
 
-					// if there is a tile to draw (not off the edge of the level)
-					if (draw != null) {
-						Sprite sprite = draw.getSprite();
+		// draw the player HUD (heads up display)
+		hud.draw(g, snapshot, width, height);
+	}
 
-						sprite.draw(g, newx, newy, TILE_SIZE, TILE_SIZE);
-					}
-				}
-			}
+	/**	Draws every tile on the screen that can be seen, one at a time. Tiles that cannot be seen, such as air, are skipped without being looked at.
+		@param g The Graphics2D object to draw on
+		@param firstx The x coordinate of the tile at the left of the screen
+		@param firsty The y coordinate of the tile at the bottom of the screen
+		@param startx The screen x coordinate of the left of tile firstx
+		@param starty The screen y coordinate of the top of tile firsty, less the screen height
+		@param width The width of the screen
+		@param height The height of the screen
+		@param tick The level's animation tick, to draw animated tiles at
+		@return The number of images drawn
+	*/
+	private int drawTiles(Graphics2D g, int firstx, int firsty, int startx, int starty, int width, int height, long tick) {
+		Level level = game.getLevel();
+		int drawn = 0;
 
-			// draw each entity, adjusting screen coordinates depending on the scroll amount
-			for (Entity e : game.getEntities())
-				e.draw(g, (e.getX()-scrollX)*TILE_SIZE, height-(e.getY()-scrollY)*TILE_SIZE, TILE_SIZE);
+		// the last tile that starts on the screen
+		int lastx = firstx + (width - startx + TILE_SIZE - 1) / TILE_SIZE - 1;
 
-			// draw the player
-			p.draw(g, (p.getX()-scrollX)*TILE_SIZE, height-(p.getY()-scrollY)*TILE_SIZE, TILE_SIZE);
-			
-			// draw the player HUD (heads up display)
-			hud.draw(g, width, height);
+		// current y coordinate of the row we're drawing
+		int newy = starty + height;
+
+		// draw until we reach the edge of the screen
+		for (int y=firsty; newy > -TILE_SIZE; y++, newy -= TILE_SIZE) {
+			for (int x = level.nextDrawableTile(y, firstx, lastx); x >= 0; x = level.nextDrawableTile(y, x + 1, lastx)) {
+				Sprite sprite = level.getMaterialAt(x, y).getSprite(tick);
+
+				sprite.draw(g, startx + (x - firstx)*TILE_SIZE, newy, TILE_SIZE, TILE_SIZE);
+				drawn++;
+			}
 		}
+
+		return drawn;
+	}
+
+	/**	Returns the number of images drawn for the level's tiles in the last frame.
+		@return The number of tile images drawn
+	*/
+	int getTileImagesDrawn() {
+		return tileImagesDrawn;
 	}
 
 	/**	Returns the game drawn by this view.
@@ -0,0 +1,57 @@
+package me.kyle1320.platformer;
+
+import java.awt.event.KeyEvent;
+
+/**	The buttons held during one update of a game. A GameState reads its InputSource once at the start of each update,
+	so the player sees the same buttons for the whole update however the keyboard changes meanwhile, and an update can be repeated exactly from its frame.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class InputFrame {
+	public static final int UP = 1;
+	public static final int DOWN = 2;
+	public static final int LEFT = 4;
+	public static final int RIGHT = 8;
+	public static final int JUMP = 16;
+
+	// the key mapped to each button, in bit order
+	private static final int[] KEY_CODES = {KeyEvent.VK_W, KeyEvent.VK_S, KeyEvent.VK_A, KeyEvent.VK_D, KeyEvent.VK_SPACE};
+
+	private int buttons;
+
+	/**	Sets this frame to the buttons whose keys are pressed in the given InputSource.
+		@param input The InputSource to read
+	*/
+	public void read(InputSource input) {
+		int buttons = 0;
+
+		for (int i=0; i < KEY_CODES.length; i++) {
+			if (input.isKeyPressed(KEY_CODES[i]))
+				buttons |= 1 << i;
+		}
+
+		this.buttons = buttons;
+	}
+
+	/**	Sets the buttons held in this frame.
+		@param buttons The buttons held, as a combination of UP, DOWN, LEFT, RIGHT and JUMP
+	*/
+	public void setButtons(int buttons) {
+		this.buttons = buttons;
+	}
+
+	/**	Returns the buttons held in this frame.
+		@return The buttons held, as a combination of UP, DOWN, LEFT, RIGHT and JUMP
+	*/
+	public int getButtons() {
+		return buttons;
+	}
+
+	/**	Returns true if the given button is held in this frame.
+		@param button One of UP, DOWN, LEFT, RIGHT and JUMP
+		@return True if the button is held
+	*/
+	public boolean isPressed(int button) {
+		return (buttons & button) != 0;
+	}
+}
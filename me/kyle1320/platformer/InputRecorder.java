@@ -0,0 +1,216 @@
+package me.kyle1320.platformer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**	<pre>Records the input frame of every update of a game, so that the game can be played again exactly by an InputReplayer.
+Frames are stored as runs of updates with the same buttons held, so a recording costs five bytes per change of buttons rather than per update.
+Recordings are saved in a binary format. All numbers are big-endian, and strings are in modified UTF-8, as DataOutputStream writes them.
+	int		Magic number, "PREC"
+	short	Format version
+	long	Seed of the game's random number generator
+	string	GameLevel name, or an empty string if the level has none
+	int		Number of runs
+Then, for each run:
+	byte	Buttons held, a combination of the InputFrame buttons
+	int		Number of updates in the run</pre>
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class InputRecorder {
+	public static final int MAGIC = 0x50524543;	// "PREC"
+	public static final short VERSION = 1;
+
+	private GameLevel level;
+	private long seed;
+
+	private byte[] buttons;
+	private int[] lengths;
+	private int runs;
+	private long ticks;
+
+	/**	Creates a new, empty InputRecorder for a game of the given level.
+		@param level The GameLevel being played, or null if it has none
+		@param seed The seed of the game's random number generator
+	*/
+	public InputRecorder(GameLevel level, long seed) {
+		this.level = level;
+		this.seed = seed;
+		this.buttons = new byte[64];
+		this.lengths = new int[64];
+	}
+
+	/**	Creates a new, empty InputRecorder for the given game and starts recording it. The game should not have been updated yet.
+		@param game The game to record
+		@return The recorder
+	*/
+	public static InputRecorder start(GameState game) {
+		InputRecorder recorder = new InputRecorder(game.getLevel().getGameLevel(), game.getSeed());
+		game.setRecorder(recorder);
+
+		return recorder;
+	}
+
+	/**	Adds one update to the recording.
+		@param frame The buttons held during the update, as a combination of the InputFrame buttons
+	*/
+	public void record(int frame) {
+		if (runs > 0 && buttons[runs-1] == (byte) frame && lengths[runs-1] < Integer.MAX_VALUE) {
+			lengths[runs-1]++;
+		} else {
+			addRun(frame, 1);
+		}
+
+		ticks++;
+	}
+
+	/**	Adds a run of updates to the end of the recording.
+		@param frame The buttons held during the run
+		@param length The number of updates in the run
+	*/
+	private void addRun(int frame, int length) {
+		if (runs == buttons.length) {
+			buttons = Arrays.copyOf(buttons, runs * 2);
+			lengths = Arrays.copyOf(lengths, runs * 2);
+		}
+
+		buttons[runs] = (byte) frame;
+		lengths[runs] = length;
+		runs++;
+	}
+
+	/**	Returns the GameLevel that was recorded.
+		@return The GameLevel, or null if the level has none
+	*/
+	public GameLevel getGameLevel() {
+		return level;
+	}
+
+	/**	Returns the seed of the recorded game's random number generator.
+		@return The seed
+	*/
+	public long getSeed() {
+		return seed;
+	}
+
+	/**	Returns the number of runs of updates with the same buttons held.
+		@return The number of runs
+	*/
+	public int getRunCount() {
+		return runs;
+	}
+
+	/**	Returns the buttons held during a run.
+		@param run The index of the run
+		@return The buttons held, as a combination of the InputFrame buttons
+	*/
+	public int getButtons(int run) {
+		return buttons[run];
+	}
+
+	/**	Returns the number of updates in a run.
+		@param run The index of the run
+		@return The number of updates
+	*/
+	public int getRunLength(int run) {
+		return lengths[run];
+	}
+
+	/**	Returns the number of updates recorded.
+		@return The number of updates
+	*/
+	public long getTicks() {
+		return ticks;
+	}
+
+	/**	Saves this recording to a file.
+		@param file The file to write
+	*/
+	public void write(File file) throws IOException {
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+
+		try {
+			write(out);
+		} finally {
+			out.close();
+		}
+	}
+
+	/**	Writes this recording in the recording format.
+		@param out The stream to write to
+	*/
+	public void write(DataOutputStream out) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeShort(VERSION);
+		out.writeLong(seed);
+		out.writeUTF(level == null ? "" : level.name());
+		out.writeInt(runs);
+
+		for (int i=0; i < runs; i++) {
+			out.writeByte(buttons[i]);
+			out.writeInt(lengths[i]);
+		}
+	}
+
+	/**	Reads a recording from a file.
+		@param file The file to read
+		@return The recording
+	*/
+	public static InputRecorder read(File file) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+
+		try {
+			return read(in);
+		} finally {
+			in.close();
+		}
+	}
+
+	/**	Reads a recording written in the recording format.
+		@param in The stream to read from
+		@return The recording
+	*/
+	public static InputRecorder read(DataInputStream in) throws IOException {
+		if (in.readInt() != MAGIC)
+			throw new IOException("Not an input recording");
+
+		short version = in.readShort();
+		if (version != VERSION)
+			throw new IOException("Unsupported recording version " + version);
+
+		long seed = in.readLong();
+		String name = in.readUTF();
+		GameLevel level = null;
+
+		if (name.length() > 0) {
+			try {
+				level = GameLevel.valueOf(name);
+			} catch (IllegalArgumentException e) {
+				throw new IOException("Unknown level " + name);
+			}
+		}
+
+		InputRecorder recorder = new InputRecorder(level, seed);
+		int runs = in.readInt();
+
+		for (int i=0; i < runs; i++) {
+			int frame = in.readByte();
+			int length = in.readInt();
+
+			if (length <= 0)
+				throw new IOException("Invalid run length " + length + " in run " + i);
+
+			recorder.addRun(frame, length);
+			recorder.ticks += length;
+		}
+
+		return recorder;
+	}
+}
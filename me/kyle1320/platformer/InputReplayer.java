@@ -0,0 +1,106 @@
+package me.kyle1320.platformer;
+
+import java.io.File;
+import java.io.IOException;
+
+/**	Plays a recording made by an InputRecorder back into a game, one recorded frame per update.
+	The game does not read its InputSource while being replayed, so replays need no window and run as fast as the game can update.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class InputReplayer {
+	private InputRecorder recording;
+	private int run;		// the run being replayed
+	private int runTicks;	// updates replayed of the current run
+
+	/**	Creates a new InputReplayer at the start of the given recording.
+		@param recording The recording to replay
+	*/
+	public InputReplayer(InputRecorder recording) {
+		this.recording = recording;
+	}
+
+	/**	Creates a new game of the recorded level, with the recorded seed, for replaying the recording into.
+		@return The new game
+		@throws IllegalStateException If the recording has no GameLevel
+	*/
+	public GameState createGame() {
+		if (recording.getGameLevel() == null)
+			throw new IllegalStateException("The recording has no GameLevel to replay");
+
+		return new GameState(recording.getGameLevel().getLevel(), new ScriptedInput(), recording.getSeed());
+	}
+
+	/**	Updates the game once with the next recorded frame.
+		@param game The game to update
+		@return True if the game was updated, or false if the recording has finished
+	*/
+	public boolean step(GameState game) {
+		if (isFinished())
+			return false;
+
+		game.update(recording.getButtons(run));
+
+		if (++runTicks == recording.getRunLength(run)) {
+			run++;
+			runTicks = 0;
+		}
+
+		return true;
+	}
+
+	/**	Updates the game with recorded frames until the recording or the level is finished, or the given number of updates have run.
+		@param game The game to update
+		@param maxTicks The maximum number of updates to run
+		@return The number of updates run
+	*/
+	public long run(GameState game, long maxTicks) {
+		long ticks = 0;
+
+		while (ticks < maxTicks && !game.isFinished() && step(game))
+			ticks++;
+
+		return ticks;
+	}
+
+	/**	Returns true if every recorded frame has been replayed.
+		@return True if the recording has finished
+	*/
+	public boolean isFinished() {
+		return run >= recording.getRunCount();
+	}
+
+	/**	Moves back to the start of the recording.
+	*/
+	public void reset() {
+		run = 0;
+		runTicks = 0;
+	}
+
+	/**	<pre>Replays a recording without a window and prints the result. Arguments are read as follows:
+	0:	String	The recording file, as written by InputRecorder
+	1:	long	The maximum number of updates to run (default the whole recording)</pre>
+		@param args A String array of program arguments
+	*/
+	public static void main(String[] args) throws IOException {
+		System.setProperty("java.awt.headless", "true");
+
+		if (args.length < 1) {
+			System.out.println("Usage: InputReplayer <recording> [maxTicks]");
+			return;
+		}
+
+		InputRecorder recording = InputRecorder.read(new File(args[0]));
+		long maxTicks = args.length > 1 ? Long.parseLong(args[1]) : Long.MAX_VALUE;
+
+		InputReplayer replayer = new InputReplayer(recording);
+		GameState game = replayer.createGame();
+
+		long start = System.nanoTime();
+		long ticks = replayer.run(game, maxTicks);
+		long nanos = System.nanoTime() - start;
+
+		Player p = game.getPlayer();
+		System.out.println(new SimulationResult(game.getLevel().getName(), game.isFinished(), p.getPoints(), game.getTime(), ticks, nanos));
+	}
+}
@@ -0,0 +1,13 @@
+package me.kyle1320.platformer;
+
+/**	A source of key state that a Player reads its movement from.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public interface InputSource {
+	/**	Returns true if the given key is pressed.
+		@param keyCode The key code of the test key as defined in KeyEvent
+		@return True if the given key is pressed
+	*/
+	public boolean isKeyPressed(int keyCode);
+}
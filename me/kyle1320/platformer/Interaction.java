@@ -10,4 +10,13 @@ public interface Interaction {
 		@param player The Player interacting with the tile
 	*/
 	public void action(Tile tile, Player player);
+
+	/**	Returns true if this interaction might do something for the given tile. Tiles whose interaction can never act are not interacted with.
+		Most interactions act on every tile they belong to, so only those that depend on a tile's data need to override this.
+		@param tile The tile this interaction belongs to
+		@return True if this interaction might do something for the given tile
+	*/
+	default boolean canAct(Tile tile) {
+		return true;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package me.kyle1320.platformer;
+
+/**	Compares the cost of the player's interaction pass when scanning every nearby tile against using the level's interaction index.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class InteractionBenchmark {
+	/**	Moves the player to every position in the level and runs an interaction pass at each.
+		@param level The level to play
+		@param passes The number of times to sweep the level
+		@param scan True to visit every nearby tile, false to use the interaction index
+		@return The time taken, in nanoseconds
+	*/
+	private static long sweep(GameLevel level, int passes, boolean scan) {
+		GameState game = new GameState(level.getLevel(), new ScriptedInput());
+		Player player = game.getPlayer();
+		Level l = game.getLevel();
+
+		long start = System.nanoTime();
+
+		for (int i=0; i < passes; i++) {
+			for (int y=0; y < l.getHeight(); y++) {
+				for (int x=0; x < l.getWidth(); x++) {
+					player.setX(x);
+					player.setY(y);
+
+					if (scan)
+						scanTiles(player, l);
+					else
+						player.interactWithTiles();
+				}
+			}
+		}
+
+		return System.nanoTime() - start;
+	}
+
+	/**	The interaction pass as it was before the index: every tile near the player is interacted with.
+		@param player The player interacting
+		@param level The level the player is in
+	*/
+	private static void scanTiles(Player player, Level level) {
+		int minx = (int)Math.max(0, player.getX() - 2);
+		int miny = (int)Math.max(0, player.getY() - 2);
+
+		int maxx = (int)Math.min(level.getWidth() - 1, (player.getX() + player.getWidth() + 2));
+		int maxy = (int)Math.min(level.getHeight() - 1, (player.getY() + player.getHeight() + 2));
+
+		for (int y=miny; y <= maxy; y++)
+			for (int x=minx; x <= maxx; x++)
+				level.getTileAt(x, y).interact(player);
+	}
+
+	/**	<pre>Runs the benchmark and prints the results. Arguments are read as follows:
+	0:	String	The GameLevel name (default tutorial)
+	1:	int 	The number of sweeps over the level (default 200)</pre>
+		@param args A String array of program arguments
+	*/
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+
+		GameLevel level = GameLevel.valueOf(args.length > 0 ? args[0] : "tutorial");
+		int passes = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+		// warm up both paths before timing them
+		sweep(level, Math.max(1, passes/10), true);
+		sweep(level, Math.max(1, passes/10), false);
+
+		long scan = sweep(level, passes, true);
+		long index = sweep(level, passes, false);
+
+		Level l = level.getLevel();
+		long positions = (long)passes * l.getWidth() * l.getHeight();
+
+		System.out.printf("%s: %d interaction passes%n", l.getName(), positions);
+		System.out.printf("  scan:  %.0f ns/pass (%.0f passes/s)%n", (double)scan / positions, positions * 1.0e9 / scan);
+		System.out.printf("  index: %.0f ns/pass (%.0f passes/s)%n", (double)index / positions, positions * 1.0e9 / index);
+		System.out.printf("  speedup: %.1fx%n", (double)scan / index);
+	}
+}
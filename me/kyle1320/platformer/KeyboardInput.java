@@ -0,0 +1,15 @@
+package me.kyle1320.platformer;
+
+/**	An InputSource that reads the keys currently pressed by the user.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class KeyboardInput implements InputSource {
+	/**	Returns true if the user is pressing the given key.
+		@param keyCode The key code of the test key as defined in KeyEvent
+		@return True if the given key is pressed
+	*/
+	public boolean isKeyPressed(int keyCode) {
+		return Input.isKeyPressed(keyCode);
+	}
+}
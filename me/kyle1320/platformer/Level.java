@@ -3,17 +3,70 @@ package me.kyle1320.platformer;
 import java.awt.image.BufferedImage;
 import java.awt.Graphics2D;
 
-import java.util.Scanner;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.IOException;
 
-/**	Stores Tiles in an array to form a playable level.
+/**	Stores the tiles of a playable level as a TileGrid of material ids, along with any custom tile data.
 	@author Kyle Cutler
 	@version 1/1/14
 */
 public class Level {
+	private static final Material[] MATERIALS = Material.values();
+	private static final int AIR = Material.air.ordinal();
+
+	// whether each material is interactive when its tile has no custom data, so most tiles don't need a Tile made to find out
+	private static final boolean[] INTERACTIVE_WITHOUT_DATA = new boolean[MATERIALS.length];
+
+	// whether each material is solid, climbable, and visible, by ordinal
+	private static final boolean[] SOLID = new boolean[MATERIALS.length];
+	private static final boolean[] CLIMBABLE = new boolean[MATERIALS.length];
+	private static final boolean[] DRAWABLE = new boolean[MATERIALS.length];
+
+	static {
+		for (Material m : MATERIALS) {
+			Interaction interaction = m.getProperties().getInteraction();
+			INTERACTIVE_WITHOUT_DATA[m.ordinal()] = interaction != null && interaction.canAct(new Tile(m, null, 0, 0));
+
+			SOLID[m.ordinal()] = m.getProperties().isSolid();
+			CLIMBABLE[m.ordinal()] = m.getProperties().isClimbable();
+			DRAWABLE[m.ordinal()] = m.isVisible();
+		}
+	}
+
 	private GameLevel gameLevel;
 	private int width, height;
-	private Tile[][] tiles;
+
+	// tiles are stored as material ids, along with which are animated and interactive. Tile objects are only made when asked for
+	private TileGrid grid;
+
+	// a bit per tile for solid and climbable tiles, kept for the whole level even when only some of the grid is in memory, so physics never reads the grid
+	private TileMask solidTiles, climbableTiles;
+
+	// a bit per tile for tiles with a visible sprite, so drawing can skip the air that makes up most of a level
+	private TileMask drawableTiles;
+
+	// custom data for the few tiles that have any, by index (y*width + x). Every other tile has empty data
+	private HashMap<Integer, TileData> tileData;
+
+	// for a copy of another level, that level's custom data, which tileData overrides. Empty data in tileData hides data here
+	private Map<Integer, TileData> baseTileData;
+
+	// told about every tile change. Copy-on-write so that a listener can be added while the level is being changed
+	private CopyOnWriteArrayList<TileListener> listeners = new CopyOnWriteArrayList<TileListener>();
+
+	// every animated tile shows the frame for this tick, so tiles don't need their own sprites
+	private long animationTick;
+
+	// moved over each solid tile sweep looks at, so sweeping makes no garbage. Only used by the thread updating the level
+	private Tile sweepTile;
 
 	private Background background;
 
@@ -24,33 +77,167 @@ public class Level {
 		@param fileName The path to the file that contains data for this level
 	*/
 	Level(GameLevel gameLevel, String fileName) {
+		this(gameLevel, fileName, 0);
+	}
+
+	/**	creates a new Level from the given GameLevel and file name, keeping only some of its tiles in memory. This should only be called from within GameLevel.
+		@param gameLevel The GameLevel associated with this level
+		@param fileName The path to the file that contains data for this level
+		@param memoryBudget Roughly the most bytes of tiles to keep in memory, with the rest on disk, or 0 to keep every tile in memory
+	*/
+	Level(GameLevel gameLevel, String fileName, long memoryBudget) {
 		this.gameLevel = gameLevel;
 		try {
-			processFile(new Scanner(Level.class.getResourceAsStream(fileName)));
+			processFile(new LevelTokenizer(Level.class.getResourceAsStream(fileName)), memoryBudget);
 		} catch (Exception e) {
 			e.printStackTrace();
 			System.out.println("Could not read level at " + fileName);
 		}
 	}
 
-	/**	Reads a file and creates this Level using data in the file.
-		@param fin The file to read
+	/**	Creates a new Level from level data that has already been opened, such as a level built by a benchmark.
+		@param gameLevel The GameLevel associated with this level, or null if it has none
+		@param in The level data in the text level format, which is closed once it has been read
 	*/
-	private void processFile(Scanner in) throws Exception {
-		width = in.nextInt();	// level width
-		height = in.nextInt();	// and height
+	Level(GameLevel gameLevel, LevelTokenizer in) throws IOException {
+		this(gameLevel, in, 0);
+	}
 
-		tiles = new Tile[height][width];
+	/**	Creates a new Level from level data that has already been opened, keeping only some of its tiles in memory.
+		@param gameLevel The GameLevel associated with this level, or null if it has none
+		@param in The level data in the text level format, which is closed once it has been read
+		@param memoryBudget Roughly the most bytes of tiles to keep in memory, with the rest on disk, or 0 to keep every tile in memory
+	*/
+	Level(GameLevel gameLevel, LevelTokenizer in, long memoryBudget) throws IOException {
+		this.gameLevel = gameLevel;
+		processFile(in, memoryBudget);
+	}
+
+	/**	Creates a new Level of the given size filled with air, for a level reader to fill in using setTile.
+		@param gameLevel The GameLevel associated with this level, or null if it has none
+		@param width The level width
+		@param height The level height
+		@param background The level background
+		@param playerStartX The x coordinate of the player's start position
+		@param playerStartY The y coordinate of the player's start position
+		@param memoryBudget Roughly the most bytes of tiles to keep in memory, with the rest on disk, or 0 to keep every tile in memory
+	*/
+	Level(GameLevel gameLevel, int width, int height, Background background, double playerStartX, double playerStartY, long memoryBudget) throws IOException {
+		this.gameLevel = gameLevel;
+		this.background = background;
+		this.playerStartX = playerStartX;
+		this.playerStartY = playerStartY;
+
+		createGrid(width, height, memoryBudget);
+	}
+
+	/**	Creates a new Level that uses a grid which has already been filled, such as one read straight from a compiled level file.
+		@param gameLevel The GameLevel associated with this level, or null if it has none
+		@param grid The grid holding the level's tiles
+		@param solidTiles The solid tiles in the grid
+		@param climbableTiles The climbable tiles in the grid
+		@param drawableTiles The tiles in the grid with a visible sprite
+		@param width The level width
+		@param height The level height
+		@param background The level background
+		@param playerStartX The x coordinate of the player's start position
+		@param playerStartY The y coordinate of the player's start position
+	*/
+	Level(GameLevel gameLevel, TileGrid grid, TileMask solidTiles, TileMask climbableTiles, TileMask drawableTiles, int width, int height, Background background, double playerStartX, double playerStartY) {
+		this.gameLevel = gameLevel;
+		this.grid = grid;
+		this.solidTiles = solidTiles;
+		this.climbableTiles = climbableTiles;
+		this.drawableTiles = drawableTiles;
+		this.width = width;
+		this.height = height;
+		this.background = background;
+		this.playerStartX = playerStartX;
+		this.playerStartY = playerStartY;
+
+		this.tileData = new HashMap<Integer, TileData>();
+	}
 
-		int x, y;
-		// read in each tile material and create the tile at that coordinate
+	/**	Creates a new Level that starts out the same as another, but which can be changed without changing the other.
+		Tiles are copied from the other level only when they are changed, so this takes almost no time or memory.
+		The other level must not be changed while this level is in use, so it should be kept only for making copies.
+		@param pristine The level to copy
+	*/
+	Level(Level pristine) {
+		this.gameLevel = pristine.gameLevel;
+		this.width = pristine.width;
+		this.height = pristine.height;
+		this.background = pristine.background;
+		this.playerStartX = pristine.playerStartX;
+		this.playerStartY = pristine.playerStartY;
+
+		this.grid = new CopyOnWriteTileGrid(pristine.grid, width, height);
+		this.solidTiles = new TileMask(pristine.solidTiles);
+		this.climbableTiles = new TileMask(pristine.climbableTiles);
+		this.drawableTiles = new TileMask(pristine.drawableTiles);
+		this.tileData = new HashMap<Integer, TileData>();
+		this.baseTileData = pristine.getTileData();
+	}
+
+	/**	Sets this level's size and creates an empty grid to hold its tiles.
+		@param width The level width
+		@param height The level height
+		@param memoryBudget Roughly the most bytes of tiles to keep in memory, or 0 to keep every tile in memory
+	*/
+	private void createGrid(int width, int height, long memoryBudget) throws IOException {
+		this.width = width;
+		this.height = height;
+
+		if (memoryBudget > 0)
+			grid = new ChunkedTileGrid(width, height, memoryBudget);
+		else
+			grid = new PackedTileGrid(width, height);
+
+		solidTiles = new TileMask(width * height);
+		climbableTiles = new TileMask(width * height);
+		drawableTiles = new TileMask(width * height);
+
+		tileData = new HashMap<Integer, TileData>();
+	}
+
+	/**	Reads a file and creates this Level using data in the file, then closes the file.
+		@param in The file to read
+		@param memoryBudget Roughly the most bytes of tiles to keep in memory, or 0 to keep every tile in memory
+	*/
+	private void processFile(LevelTokenizer in, long memoryBudget) throws IOException {
+		try {
+			readFile(in, memoryBudget);
+		} finally {
+			in.close();
+		}
+	}
+
+	/**	Reads a file in the text level format and creates this Level using data in the file.
+		@param in The file to read
+		@param memoryBudget Roughly the most bytes of tiles to keep in memory, or 0 to keep every tile in memory
+	*/
+	private void readFile(LevelTokenizer in, long memoryBudget) throws IOException {
+		createGrid(in.nextInt(), in.nextInt(), memoryBudget);	// level width and height
+
+		int x, y, id;
+		// read in each tile material and set the tile at that coordinate. The new grid is already air, so air tiles are skipped
 		for (y=height-1; y >= 0; y--) {
 			for (x=0; x < width; x++) {
-				tiles[y][x] = new Tile(Material.values()[in.nextInt()], this, x, y);
+				id = in.nextInt();
+
+				if (id < 0 || id >= MATERIALS.length)
+					throw new IOException("Bad material id " + id + " at " + x + ", " + y);
+
+				if (id != AIR || INTERACTIVE_WITHOUT_DATA[AIR])
+					setTile(x, y, MATERIALS[id], TileData.EMPTY);
 			}
 		}
 
-		background = Background.values()[in.nextInt()];	// background id
+		id = in.nextInt();
+		if (id < 0 || id >= Background.values().length)
+			throw new IOException("Bad background id " + id);
+
+		background = Background.values()[id];	// background id
 
 		playerStartX = in.nextDouble();	// player start position x
 		playerStartY = in.nextDouble();	// and y
@@ -59,25 +246,341 @@ public class Level {
 			x = in.nextInt();
 			y = in.nextInt();
 
-			tiles[y][x].setData(TileData.read(in));
+			if (x < 0 || y < 0 || x >= width || y >= height)
+				throw new IOException("Tile data out of bounds at " + x + ", " + y);
+
+			TileData data = TileData.read(in);
+			data.compile();		// parse tile placements now rather than during the game
+
+			setTile(x, y, getMaterialAt(x, y), data);
 		}
 	}
 
-	/**	Updates each Tile.
+	/**	Advances the animation of every Tile.
 	*/
 	public void update() {
-		for (int y=0; y < height; y++) {
-			for (int x=0; x < width; x++) {
-				tiles[y][x].update();
+		animationTick++;
+	}
+
+	/**	Sets the material and data of the tile at the given coordinates, and updates the animated and interactive tile indexes for it. Coordinates must be within bounds.
+		@param x The x coordinate
+		@param y The y coordinate
+		@param material The new material of the tile
+		@param data The new data of the tile
+	*/
+	void setTile(int x, int y, Material material, TileData data) {
+		Interaction interaction = material.getProperties().getInteraction();
+		boolean interactive = INTERACTIVE_WITHOUT_DATA[material.ordinal()];
+
+		if (interaction != null && data.getSize() > 0) {
+			Tile tile = new Tile(material, this, x, y);
+			tile.setData(data);
+
+			interactive = interaction.canAct(tile);
+		}
+
+		setTile(x, y, material, data, interactive);
+	}
+
+	/**	Sets the material and data of the tile at the given coordinates, using an interactive flag that has already been worked out, such as by LevelCompiler. Coordinates must be within bounds.
+		@param x The x coordinate
+		@param y The y coordinate
+		@param material The new material of the tile
+		@param data The new data of the tile
+		@param interactive True if the tile has an interaction that might act
+	*/
+	void setTile(int x, int y, Material material, TileData data, boolean interactive) {
+		int index = y*width + x;
+
+		if (data.getSize() > 0 || (baseTileData != null && baseTileData.containsKey(index)))
+			tileData.put(index, data);
+		else if (!tileData.isEmpty())	// skip boxing the index when there is nothing to remove
+			tileData.remove(index);
+
+		grid.setTile(x, y, (short)material.ordinal(), material.isAnimated(), interactive);
+
+		solidTiles.set(index, SOLID[material.ordinal()]);
+		climbableTiles.set(index, CLIMBABLE[material.ordinal()]);
+		drawableTiles.set(index, DRAWABLE[material.ordinal()]);
+
+		for (int i=0; i < listeners.size(); i++)	// indexed rather than an Iterator so that changing a tile creates no garbage
+			listeners.get(i).tileChanged(x, y);
+	}
+
+	/**	Adds a listener to be told about every tile change in this level.
+		@param listener The listener to add
+	*/
+	public void addTileListener(TileListener listener) {
+		listeners.add(listener);
+	}
+
+	/**	Removes a listener added by addTileListener.
+		@param listener The listener to remove
+	*/
+	public void removeTileListener(TileListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**	Sets the solid, climbable, and drawable bits of a range of tiles in a row from the grid.
+		@param y The y coordinate of the row
+		@param minx The first x coordinate to set
+		@param maxx The last x coordinate to set
+	*/
+	private void updateMasks(int y, int minx, int maxx) {
+		for (int x=minx; x <= maxx; x++) {
+			short material = grid.getMaterial(x, y);
+
+			solidTiles.set(y*width + x, SOLID[material]);
+			climbableTiles.set(y*width + x, CLIMBABLE[material]);
+			drawableTiles.set(y*width + x, DRAWABLE[material]);
+		}
+	}
+
+	/**	Tells this level that the tiles around the given position are about to be used, so that any that are not in memory can be loaded ahead of time.
+		@param x The x coordinate
+		@param y The y coordinate
+	*/
+	public void focus(double x, double y) {
+		grid.focus(x, y);
+	}
+
+	/**	Finds the first tile in a row, within a range of x coordinates, that has an interaction that might act.
+		@param y The y coordinate of the row
+		@param minx The first x coordinate to look at
+		@param maxx The last x coordinate to look at
+		@return The x coordinate of the first interactive tile, or -1 if there is none in the range
+	*/
+	public int nextInteractiveTile(int y, int minx, int maxx) {
+		if (y < 0 || y >= height)
+			return -1;
+
+		minx = Math.max(0, minx);
+		maxx = Math.min(width - 1, maxx);
+
+		if (minx > maxx)
+			return -1;
+
+		return grid.nextInteractiveTile(y, minx, maxx);
+	}
+
+	/**	Returns true if the tile at the given coordinates is solid, without making a Tile.
+		@param x The x coordinate
+		@param y The y coordinate
+		@return True if the coordinates are within bounds and the tile at them is solid
+	*/
+	public boolean isSolid(int x, int y) {
+		return x >= 0 && y >= 0 && x < width && y < height && solidTiles.get(y*width + x);
+	}
+
+	/**	Returns true if the tile at the given coordinates is climbable, without making a Tile.
+		@param x The x coordinate
+		@param y The y coordinate
+		@return True if the coordinates are within bounds and the tile at them is climbable
+	*/
+	public boolean isClimbable(int x, int y) {
+		return x >= 0 && y >= 0 && x < width && y < height && climbableTiles.get(y*width + x);
+	}
+
+	/**	Returns true if the tile at the given coordinates has a sprite with visible pixels, without making a Tile.
+		@param x The x coordinate
+		@param y The y coordinate
+		@return True if the coordinates are within bounds and the tile at them needs to be drawn
+	*/
+	public boolean isDrawable(int x, int y) {
+		return x >= 0 && y >= 0 && x < width && y < height && drawableTiles.get(y*width + x);
+	}
+
+	/**	Finds the first solid tile in a row, within a range of x coordinates.
+		@param y The y coordinate of the row
+		@param minx The first x coordinate to look at
+		@param maxx The last x coordinate to look at
+		@return The x coordinate of the first solid tile, or -1 if there is none in the range
+	*/
+	public int nextSolidTile(int y, int minx, int maxx) {
+		if (y < 0 || y >= height)
+			return -1;
+
+		minx = Math.max(0, minx);
+		maxx = Math.min(width - 1, maxx);
+
+		if (minx > maxx)
+			return -1;
+
+		int next = solidTiles.nextSetBit(y*width + minx, y*width + maxx);
+
+		return next < 0 ? -1 : next - y*width;
+	}
+
+	/**	Finds the first row, going up from a given row, that has a solid tile within a range of x coordinates.
+		@param minx The first x coordinate to look at
+		@param maxx The last x coordinate to look at
+		@param miny The first row to look at
+		@param maxy The last row to look at
+		@return The y coordinate of the first row with a solid tile, or -1 if there is none in the range
+	*/
+	public int nextSolidRow(int minx, int maxx, int miny, int maxy) {
+		for (int y=Math.max(0, miny); y <= maxy && y < height; y++) {
+			if (nextSolidTile(y, minx, maxx) >= 0)
+				return y;
+		}
+
+		return -1;
+	}
+
+	/**	Finds the first climbable tile in a row, within a range of x coordinates.
+		@param y The y coordinate of the row
+		@param minx The first x coordinate to look at
+		@param maxx The last x coordinate to look at
+		@return The x coordinate of the first climbable tile, or -1 if there is none in the range
+	*/
+	public int nextClimbableTile(int y, int minx, int maxx) {
+		if (y < 0 || y >= height)
+			return -1;
+
+		minx = Math.max(0, minx);
+		maxx = Math.min(width - 1, maxx);
+
+		if (minx > maxx)
+			return -1;
+
+		int next = climbableTiles.nextSetBit(y*width + minx, y*width + maxx);
+
+		return next < 0 ? -1 : next - y*width;
+	}
+
+	/**	Finds the first tile in a row, within a range of x coordinates, whose sprite has visible pixels and so needs to be drawn.
+		@param y The y coordinate of the row
+		@param minx The first x coordinate to look at
+		@param maxx The last x coordinate to look at
+		@return The x coordinate of the first drawable tile, or -1 if there is none in the range
+	*/
+	public int nextDrawableTile(int y, int minx, int maxx) {
+		if (y < 0 || y >= height)
+			return -1;
+
+		minx = Math.max(0, minx);
+		maxx = Math.min(width - 1, maxx);
+
+		if (minx > maxx)
+			return -1;
+
+		int next = drawableTiles.nextSetBit(y*width + minx, y*width + maxx);
+
+		return next < 0 ? -1 : next - y*width;
+	}
+
+	/**	Finds the first tile in a row, within a range of x coordinates, that is in the given index.
+		@param index The index to search
+		@param y The y coordinate of the row
+		@param minx The first x coordinate to look at
+		@param maxx The last x coordinate to look at
+		@return The x coordinate of the first tile in the index, or -1 if there is none in the range
+	*/
+	public int nextTile(TileIndex index, int y, int minx, int maxx) {
+		switch (index) {
+			case solid:			return nextSolidTile(y, minx, maxx);
+			case climbable:		return nextClimbableTile(y, minx, maxx);
+			case drawable:		return nextDrawableTile(y, minx, maxx);
+			default:			return nextInteractiveTile(y, minx, maxx);
+		}
+	}
+
+	/**	Returns true if the tile at the given coordinates is in the given index, without making a Tile.
+		@param index The index to look in
+		@param x The x coordinate
+		@param y The y coordinate
+		@return True if the coordinates are within bounds and the tile at them is in the index
+	*/
+	public boolean isIndexed(TileIndex index, int x, int y) {
+		switch (index) {
+			case solid:			return isSolid(x, y);
+			case climbable:		return isClimbable(x, y);
+			case drawable:		return isDrawable(x, y);
+			default:			return x >= 0 && nextInteractiveTile(y, x, x) == x;
+		}
+	}
+
+	/**	Follows a ray through the level's grid of tiles, visiting every tile it passes through in order, and finds the first one that is in the given index.
+		Tiles are treated as whole squares, whatever the shape of their material. A ray that starts inside a tile in the index reaches it at distance 0.
+		@param index The index of the tiles the ray stops at
+		@param x The x coordinate the ray starts at
+		@param y The y coordinate the ray starts at
+		@param dx The x direction of the ray
+		@param dy The y direction of the ray
+		@param maxDistance The length of the ray, in tiles
+		@param result The RayHit to overwrite with the tile reached, if any
+		@return True if the ray reached a tile in the index
+	*/
+	public boolean raycast(TileIndex index, double x, double y, double dx, double dy, double maxDistance, RayHit result) {
+		result.reset();
+
+		double length = Math.sqrt(dx*dx + dy*dy);
+
+		if (length == 0 || Double.isNaN(length))
+			return false;
+
+		dx /= length;
+		dy /= length;
+
+		int tx = (int)Math.floor(x);
+		int ty = (int)Math.floor(y);
+
+		int stepX = dx > 0 ? 1 : -1;
+		int stepY = dy > 0 ? 1 : -1;
+
+		// how far along the ray it crosses one tile horizontally and vertically, and how far it is to the next vertical and horizontal tile edges
+		double deltaX = dx != 0 ? Math.abs(1 / dx) : Double.POSITIVE_INFINITY;
+		double deltaY = dy != 0 ? Math.abs(1 / dy) : Double.POSITIVE_INFINITY;
+		double nextX = dx > 0 ? (tx + 1 - x) * deltaX : dx < 0 ? (x - tx) * deltaX : Double.POSITIVE_INFINITY;
+		double nextY = dy > 0 ? (ty + 1 - y) * deltaY : dy < 0 ? (y - ty) * deltaY : Double.POSITIVE_INFINITY;
+
+		double distance = 0;
+		int normalX = 0, normalY = 0;
+
+		while (distance <= maxDistance) {
+			if (isIndexed(index, tx, ty)) {
+				result.set(tx, ty, distance, normalX, normalY);
+				return true;
+			}
+
+			// stop once the ray has left the level and is moving away from it
+			if ((tx < 0 && dx <= 0) || (tx >= width && dx >= 0) || (ty < 0 && dy <= 0) || (ty >= height && dy >= 0))
+				return false;
+
+			if (nextX < nextY) {
+				distance = nextX;
+				nextX += deltaX;
+				tx += stepX;
+				normalX = -stepX;
+				normalY = 0;
+			} else {
+				distance = nextY;
+				nextY += deltaY;
+				ty += stepY;
+				normalX = 0;
+				normalY = -stepY;
 			}
 		}
+
+		return false;
+	}
+
+	/**	Returns true if any tile within a rectangle of tiles is solid. The rectangle includes its edges, and the parts of it outside the level are ignored.
+		@param minx The x coordinate of the left column
+		@param miny The y coordinate of the bottom row
+		@param maxx The x coordinate of the right column
+		@param maxy The y coordinate of the top row
+		@return True if there is a solid tile in the rectangle
+	*/
+	public boolean anySolid(int minx, int miny, int maxx, int maxy) {
+		return nextSolidRow(minx, maxx, miny, maxy) >= 0;
 	}
 
 	/**	Sets the tile at the given coordinates to air.
 	*/
 	public void destroyTile(int x, int y) {
 		if (x >= 0 && y >= 0 && x < width && y < height) {
-			tiles[y][x] = new Tile(Material.air, this, x, y);//.setMaterial(Material.air, true);
+			setTile(x, y, Material.air, TileData.EMPTY);
 		}
 	}
 
@@ -94,26 +597,50 @@ public class Level {
 		@return True if the tile has coordinates within bounds and the tile currently at those coordinates is air
 	*/
 	public boolean canPlaceTile(int x, int y) {
-		if (x >= 0 && y >= 0 && x < width && y < height) {
-			return tiles[y][x].getMaterial() == Material.air;
-		}
-
-		return false;
+		return getMaterialAt(x, y) == Material.air;
 	}
 
-	/**	Places the given tile in this level if its coordinates are within bounds.
+	/**	Places the given tile in this level if its coordinates are within bounds, copying its material and data into the level.
 		@param tile The tile to place
+		@return True if the tile was placed
 	*/
-	public void placeTile(Tile tile) {
+	public boolean placeTile(Tile tile) {
 		int x = tile.getTileX();
 		int y = tile.getTileY();
 
 		if (x >= 0 && y >= 0 && x < width && y < height) {
-			tiles[y][x] = tile;
+			setTile(x, y, tile.getMaterial(), tile.getData());
+			return true;
 		}
+
+		return false;
 	}
 
-	/**	Returns the tile at the given coordinates
+	/**	Sweeps a Collidable along the given movement and finds the first solid tile it would touch.
+		@param mover The moving Collidable
+		@param mx The x movement of the Collidable
+		@param my The y movement of the Collidable
+		@param result The Sweep to overwrite with the earliest contact, if any
+	*/
+	public void sweep(Collidable mover, double mx, double my, Sweep result) {
+		result.reset();
+
+		// every tile the mover could pass over during its movement
+		int minx = (int)Math.max(0, Math.floor(Math.min(mover.getMinX(), mover.getMinX() + mx)));
+		int miny = (int)Math.max(0, Math.floor(Math.min(mover.getMinY(), mover.getMinY() + my)));
+
+		int maxx = (int)Math.min(width - 1, Math.floor(Math.max(mover.getMaxX(), mover.getMaxX() + mx)));
+		int maxy = (int)Math.min(height - 1, Math.floor(Math.max(mover.getMaxY(), mover.getMaxY() + my)));
+
+		for (int y=miny; y <= maxy; y++) {
+			for (int x=nextSolidTile(y, minx, maxx); x >= 0; x=nextSolidTile(y, x+1, maxx)) {
+				sweepTile = getTileAt(x, y, sweepTile);
+				mover.sweep(sweepTile, mx, my, result);
+			}
+		}
+	}
+
+	/**	Returns the tile at the given coordinates. The Tile is a new view of the level, so changes to it change the level.
 		@param x The x coordinate
 		@param y The y coordinate
 		@return The tile at the given coordinates, or null if the coordinates are out of bounds.
@@ -121,14 +648,221 @@ public class Level {
 	public Tile getTileAt(int x, int y) {
 		if (x < 0 || y < 0 || x >= width || y >= height)
 			return null;
-		return tiles[y][x];
+		return new Tile(this, x, y);
+	}
+
+	/**	Returns the tile at the given coordinates, reusing the given Tile rather than making a new one if it is from this level.
+		@param x The x coordinate
+		@param y The y coordinate
+		@param reuse A Tile from this level that is no longer needed, or null
+		@return The tile at the given coordinates, or null if the coordinates are out of bounds.
+	*/
+	Tile getTileAt(int x, int y, Tile reuse) {
+		if (x < 0 || y < 0 || x >= width || y >= height)
+			return null;
+
+		if (reuse == null || reuse.getLevel() != this)
+			return new Tile(this, x, y);
+
+		reuse.view(x, y);
+		return reuse;
+	}
+
+	/**	Returns the material of the tile at the given coordinates, without making a Tile.
+		@param x The x coordinate
+		@param y The y coordinate
+		@return The material at the given coordinates, or null if the coordinates are out of bounds.
+	*/
+	public Material getMaterialAt(int x, int y) {
+		if (x < 0 || y < 0 || x >= width || y >= height)
+			return null;
+		return MATERIALS[grid.getMaterial(x, y)];
+	}
+
+	/**	Returns the custom data of the tile at the given coordinates, without making a Tile.
+		@param x The x coordinate
+		@param y The y coordinate
+		@return The data at the given coordinates, which is empty if the tile has none, or null if the coordinates are out of bounds.
+	*/
+	public TileData getDataAt(int x, int y) {
+		if (x < 0 || y < 0 || x >= width || y >= height)
+			return null;
+
+		TileData data = tileData.isEmpty() ? null : tileData.get(y*width + x);
+
+		if (data == null && baseTileData != null)
+			data = baseTileData.get(y*width + x);
+
+		return data == null ? TileData.EMPTY : data;
+	}
+
+	/**	Returns the number of updates since this level was created, which decides the frame shown by animated tiles.
+		@return The current animation tick
+	*/
+	public long getAnimationTick() {
+		return animationTick;
+	}
+
+	/**	Returns the tiles in this level that are animated. If only some of the level is in memory, only those tiles are returned.
+		@return A new list of the animated tiles in this level, in row order
+	*/
+	public List<Tile> getAnimatedTiles() {
+		int[] animated = grid.getAnimatedTiles();
+		ArrayList<Tile> tiles = new ArrayList<Tile>(animated.length);
+
+		for (int i : animated)
+			tiles.add(new Tile(this, i % width, i / width));
+
+		return tiles;
+	}
+
+	/**	Writes the tiles of this level and its animation, for a GameSnapshot. For a copy of another level only the copied tiles are written, and otherwise every tile is.
+		@param out The stream to write to
+	*/
+	void writeState(DataOutputStream out) throws IOException {
+		out.writeInt(width);
+		out.writeInt(height);
+		out.writeLong(animationTick);
+
+		out.writeBoolean(grid instanceof CopyOnWriteTileGrid);
+
+		if (grid instanceof CopyOnWriteTileGrid) {
+			((CopyOnWriteTileGrid)grid).writeChanges(out);
+		} else {
+			for (int y=0; y < height; y++) {
+				for (int x=0; x < width; x++)
+					out.writeShort(grid.getMaterial(x, y));
+			}
+		}
+
+		out.writeInt(tileData.size());
+
+		for (Map.Entry<Integer, TileData> entry : tileData.entrySet()) {
+			TileData data = entry.getValue();
+
+			out.writeInt(entry.getKey());
+			out.writeShort(data.getSize());
+
+			for (int i=0; i < data.getSize(); i++)
+				out.writeUTF(data.getString(i));
+		}
+	}
+
+	/**	Reads the tiles of this level and its animation written by writeState, from this level or another copy of the same level.
+		@param in The stream to read from
+	*/
+	void readState(DataInputStream in) throws IOException {
+		if (in.readInt() != width || in.readInt() != height)
+			throw new IOException("Snapshot is of a level with a different size");
+
+		animationTick = in.readLong();
+
+		boolean copy = in.readBoolean();
+
+		if (copy != grid instanceof CopyOnWriteTileGrid)
+			throw new IOException(copy ? "Snapshot is of a copied level, but this level is not a copy" : "Snapshot is of a level that is not a copy, but this level is");
+
+		// tile data rarely changes between snapshots, so data equal to what a tile has now is reused rather than parsed again
+		HashMap<Integer, TileData> oldTileData = new HashMap<Integer, TileData>(tileData);
+		tileData.clear();
+
+		if (copy) {
+			CopyOnWriteTileGrid copyGrid = (CopyOnWriteTileGrid)grid;
+			copyGrid.readChanges(in);
+
+			// the masks go back to those of the original level, then only the copied segments are worked out again
+			solidTiles.reset();
+			climbableTiles.reset();
+			drawableTiles.reset();
+
+			for (int start : copyGrid.getCopiedSegments())
+				updateMasks(start / width, start % width, Math.min(start % width + CopyOnWriteTileGrid.SEGMENT_SIZE, width) - 1);
+
+			for (int i=0; i < listeners.size(); i++)
+				listeners.get(i).tilesChanged();
+		} else {
+			for (int y=0; y < height; y++) {
+				for (int x=0; x < width; x++) {
+					int id = in.readShort();
+
+					if (id < 0 || id >= MATERIALS.length)
+						throw new IOException("Bad material id " + id + " at " + x + ", " + y);
+
+					setTile(x, y, MATERIALS[id], TileData.EMPTY);
+				}
+			}
+		}
+
+		int count = in.readInt();
+
+		for (int i=0; i < count; i++) {
+			int index = in.readInt();
+			String[] entries = new String[in.readShort()];
+
+			for (int j=0; j < entries.length; j++)
+				entries[j] = in.readUTF();
+
+			if (index < 0 || index >= width * height)
+				throw new IOException("Tile data out of bounds at index " + index);
+
+			TileData data = oldTileData.get(index);
+
+			if (data == null && baseTileData != null)
+				data = baseTileData.get(index);
+
+			if (entries.length == 0) {
+				data = TileData.EMPTY;
+			} else if (data == null || !data.hasEntries(entries)) {
+				data = new TileData(entries);
+				data.compile();
+			}
+
+			if (copy)
+				tileData.put(index, data);	// the copied tiles already hold the interactive flags
+			else
+				setTile(index % width, index / width, getMaterialAt(index % width, index / width), data);
+		}
+	}
+
+	/**	Returns the custom data of every tile that has any.
+		@return An unmodifiable map from tile index (y*width + x) to that tile's data
+	*/
+	Map<Integer, TileData> getTileData() {
+		if (baseTileData == null)
+			return Collections.unmodifiableMap(tileData);
+
+		HashMap<Integer, TileData> merged = new HashMap<Integer, TileData>(baseTileData);
+
+		for (Map.Entry<Integer, TileData> entry : tileData.entrySet()) {
+			if (entry.getValue().getSize() > 0)
+				merged.put(entry.getKey(), entry.getValue());
+			else
+				merged.remove(entry.getKey());
+		}
+
+		return Collections.unmodifiableMap(merged);
+	}
+
+	/**	Returns the grid this level stores its tiles in.
+		@return This level's TileGrid
+	*/
+	TileGrid getGrid() {
+		return grid;
+	}
+
+	/**	Releases what this level's tiles hold outside of memory, such as the file a level read with a memory budget keeps them in.
+		This should be called once the level is no longer used, and the level must not be used after it. A copy of another level
+		shares that level's tiles, so closing the copy leaves them open.
+	*/
+	public void close() {
+		grid.close();
 	}
 
 	/**	Return the level name
 		@return The level name
 	*/
 	public String getName() {
-		return gameLevel.toString();
+		return gameLevel == null ? "Custom Level" : gameLevel.toString();
 	}
 
 	/**	Returns the GameLevel associated with this level.
@@ -0,0 +1,184 @@
+package me.kyle1320.platformer;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**	A command line tool that checks levels in the text level format and compiles them to the binary level format,
+	with the solid, interactive and animated tile indexes worked out ahead of time. GameLevel reads a compiled level in place of its text file when there is one,
+	unless the text file has changed since it was compiled.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class LevelCompiler {
+	public static final String EXTENSION = ".lvl";
+
+	/**	Checks the custom data of every tile in a level, so that mistakes are found without having to play the level.
+		@param level The level to check
+		@return A description of each problem found, with its tile coordinates
+	*/
+	public static List<String> check(Level level) {
+		List<String> errors = new ArrayList<String>();
+		int width = level.getWidth();
+
+		Integer[] indexes = level.getTileData().keySet().toArray(new Integer[0]);
+		Arrays.sort(indexes);
+
+		for (Integer index : indexes) {
+			int x = index % width;
+			int y = index / width;
+
+			TileData data = level.getDataAt(x, y);
+			String error = null;
+
+			for (int i=0; i < data.getSize() && error == null; i++) {
+				if (!balanced(data.getString(i)))
+					error = "unbalanced brackets in entry " + i + ": " + data.getString(i);
+			}
+
+			Interaction interaction = level.getMaterialAt(x, y).getProperties().getInteraction();
+
+			if (error == null && interaction instanceof AppearInteraction)
+				error = ((AppearInteraction)interaction).check(data);
+			else if (error == null && interaction instanceof ButtonPressedInteraction)
+				error = ((ButtonPressedInteraction)interaction).check(data);
+
+			if (error != null)
+				errors.add(x + ", " + y + ": " + error);
+		}
+
+		return errors;
+	}
+
+	/**	Returns true if every opening square bracket in a string is matched by a closing one.
+		@param entry The string to check
+		@return True if the brackets in the string are balanced
+	*/
+	private static boolean balanced(String entry) {
+		int depth = 0;
+
+		for (int i=0; i < entry.length(); i++) {
+			char c = entry.charAt(i);
+
+			if (c == '[')
+				depth++;
+			else if (c == ']' && --depth < 0)
+				return false;
+		}
+
+		return depth == 0;
+	}
+
+	/**	Returns the file a level in the text level format is compiled to.
+		@param file The text level file
+		@param outputDirectory The directory to write to, or null to write next to the text file
+		@return The file to write the compiled level to
+	*/
+	public static File getOutputFile(File file, File outputDirectory) {
+		String name = file.getName();
+		int dot = name.lastIndexOf('.');
+
+		if (dot > 0)
+			name = name.substring(0, dot);
+
+		return new File(outputDirectory != null ? outputDirectory : file.getAbsoluteFile().getParentFile(), name + EXTENSION);
+	}
+
+	/**	Checks and compiles a single level, printing any problems found or else how long it took to compile and load.
+		@param file The text level file
+		@param output The file to write the compiled level to
+		@return True if the level was compiled
+	*/
+	private static boolean compile(File file, File output) {
+		Level level;
+		long sourceHash;
+		long start = System.nanoTime();
+
+		try {
+			level = new Level(null, new LevelTokenizer(file));
+			sourceHash = LevelFile.hashSource(new FileInputStream(file));
+		} catch (Exception e) {
+			System.out.println(file + ": " + (e.getMessage() != null ? e.getMessage() : e.toString()));
+			return false;
+		}
+
+		List<String> errors = check(level);
+
+		if (!errors.isEmpty()) {
+			for (String error : errors)
+				System.out.println(file + ": " + error);
+
+			return false;
+		}
+
+		try {
+			LevelFile.write(level, output, sourceHash);
+		} catch (Exception e) {
+			System.out.println(output + ": " + e.getMessage());
+			return false;
+		}
+
+		long compiled = System.nanoTime() - start;
+		long binaryLoad = Long.MAX_VALUE;
+		long textLoad = Long.MAX_VALUE;
+
+		try {
+			for (int i=0; i < 3; i++) {
+				start = System.nanoTime();
+				LevelFile.read(null, output);
+				binaryLoad = Math.min(binaryLoad, System.nanoTime() - start);
+
+				start = System.nanoTime();
+				new Level(null, new LevelTokenizer(file));
+				textLoad = Math.min(textLoad, System.nanoTime() - start);
+			}
+		} catch (Exception e) {
+			System.out.println(output + ": compiled level could not be read back: " + e.getMessage());
+			return false;
+		}
+
+		System.out.printf("%s -> %s: %dx%d, %d data tiles, compiled in %.1f ms, loads in %.2f ms (text %.2f ms)%n",
+			file, output.getName(), level.getWidth(), level.getHeight(), level.getTileData().size(), compiled / 1e6, binaryLoad / 1e6, textLoad / 1e6);
+
+		return true;
+	}
+
+	/**	<pre>Compiles each level given and exits with status 1 if any could not be compiled. Arguments are read as follows:
+	-o dir	Writes compiled levels to dir, rather than next to each text level
+	files	The text level files to compile, such as levels/*.txt</pre>
+		@param args A String array of program arguments
+	*/
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+
+		File outputDirectory = null;
+		List<File> files = new ArrayList<File>();
+
+		for (int i=0; i < args.length; i++) {
+			if (args[i].equals("-o") && i+1 < args.length)
+				outputDirectory = new File(args[++i]);
+			else
+				files.add(new File(args[i]));
+		}
+
+		if (files.isEmpty()) {
+			System.out.println("Usage: LevelCompiler [-o dir] files...");
+			System.exit(2);
+		}
+
+		if (outputDirectory != null)
+			outputDirectory.mkdirs();
+
+		boolean failed = false;
+
+		for (File file : files) {
+			if (!compile(file, getOutputFile(file, outputDirectory)))
+				failed = true;
+		}
+
+		if (failed)
+			System.exit(1);
+	}
+}
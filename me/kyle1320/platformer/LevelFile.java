@@ -0,0 +1,389 @@
+package me.kyle1320.platformer;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**	<pre>A static class used for reading and writing levels in the binary level format. All numbers are big-endian.
+	int		Magic number, "PLVL"
+	short	Format version
+	long	Source hash, the CRC-32 of the text level the file was compiled from, or -1 if it was not compiled from one
+	int		Level width
+	int		Level height
+	short	Background id
+	double	Player start x
+	double	Player start y
+	int		Number of tiles with custom data
+	short[]	Material id of every tile, by index (y*width + x)
+	long[]	Solid tiles, a bit set by index, (width*height + 63) / 64 longs long
+	long[]	Interactive tiles, in the same form
+	long[]	Animated tiles, in the same form
+Then, for each tile with custom data:
+	int		Tile x
+	int		Tile y
+	short	Number of data entries
+	for each entry: short length, then that many bytes of UTF-8
+Version 2 files have no source hash, and version 1 files have no tile indexes either. Both are still read.</pre>
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class LevelFile {
+	public static final int MAGIC = 0x504C564C;	// "PLVL"
+	public static final short VERSION = 3;
+	public static final long NO_SOURCE = -1;
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	/**	Writes a level that was not compiled from a text level to the given file in the binary level format.
+		@param level The level to write
+		@param file The file to write to
+	*/
+	public static void write(Level level, File file) throws IOException {
+		write(level, file, NO_SOURCE);
+	}
+
+	/**	Writes a level to the given file in the binary level format.
+		@param level The level to write
+		@param file The file to write to
+		@param sourceHash The hashSource of the text level the level was read from, or NO_SOURCE
+	*/
+	public static void write(Level level, File file, long sourceHash) throws IOException {
+		int width = level.getWidth();
+		int height = level.getHeight();
+
+		Map<Integer, TileData> tileData = level.getTileData();
+		Integer[] indexes = tileData.keySet().toArray(new Integer[tileData.size()]);
+		Arrays.sort(indexes);
+
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+
+		try {
+			out.writeInt(MAGIC);
+			out.writeShort(VERSION);
+			out.writeLong(sourceHash);
+			out.writeInt(width);
+			out.writeInt(height);
+			out.writeShort(level.getBackground().ordinal());
+			out.writeDouble(level.getPlayerStartX());
+			out.writeDouble(level.getPlayerStartY());
+			out.writeInt(indexes.length);
+
+			Material[] materials = Material.values();
+			TileGrid grid = level.getGrid();
+			BitSet solid = new BitSet(width * height);
+			BitSet interactive = new BitSet(width * height);
+			BitSet animated = new BitSet(width * height);
+
+			for (int y=0; y < height; y++) {
+				for (int x=0; x < width; x++) {
+					short material = grid.getMaterial(x, y);
+					out.writeShort(material);
+
+					if (materials[material].getProperties().isSolid())
+						solid.set(y*width + x);
+					if (materials[material].isAnimated())
+						animated.set(y*width + x);
+				}
+
+				for (int x = level.nextInteractiveTile(y, 0, width-1); x >= 0; x = level.nextInteractiveTile(y, x+1, width-1))
+					interactive.set(y*width + x);
+			}
+
+			writeBits(out, solid, width * height);
+			writeBits(out, interactive, width * height);
+			writeBits(out, animated, width * height);
+
+			for (Integer index : indexes) {
+				TileData data = tileData.get(index);
+
+				out.writeInt(index % width);
+				out.writeInt(index / width);
+				out.writeShort(data.getSize());
+
+				for (int i=0; i < data.getSize(); i++) {
+					byte[] bytes = data.getString(i).getBytes(UTF_8);
+
+					if (bytes.length > 0xFFFF)
+						throw new IOException("Tile data entry too long at " + (index % width) + ", " + (index / width));
+
+					out.writeShort(bytes.length);
+					out.write(bytes);
+				}
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	/**	Hashes a text level, so a level compiled from it can tell whether it has changed since.
+		@param in The text level, which is closed afterwards
+		@return The CRC-32 of the text
+	*/
+	public static long hashSource(InputStream in) throws IOException {
+		CRC32 crc = new CRC32();
+		byte[] bytes = new byte[1 << 16];
+
+		try {
+			for (int n; (n = in.read(bytes)) >= 0; )
+				crc.update(bytes, 0, n);
+		} finally {
+			in.close();
+		}
+
+		return crc.getValue();
+	}
+
+	/**	Reads the hash of the text level a level file was compiled from, without reading the rest of the file.
+		@param in The level file, which is closed afterwards
+		@return The source hash, or NO_SOURCE if the file was not compiled from a text level or is too old to say
+	*/
+	public static long readSourceHash(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(in);
+
+		try {
+			if (data.readInt() != MAGIC)
+				throw new IOException("Not a level file");
+
+			return data.readShort() >= 3 ? data.readLong() : NO_SOURCE;
+		} finally {
+			data.close();
+		}
+	}
+
+	/**	Writes a bit set as a fixed number of longs.
+		@param out The stream to write to
+		@param bits The bit set to write
+		@param size The number of bits to write
+	*/
+	private static void writeBits(DataOutputStream out, BitSet bits, int size) throws IOException {
+		long[] words = bits.toLongArray();
+
+		for (int i=0; i < (size + 63) / 64; i++) {
+			out.writeLong(i < words.length ? words[i] : 0);
+		}
+	}
+
+	/**	Reads a level from the given file in the binary level format, keeping every tile in memory.
+		@param gameLevel The GameLevel associated with the level, or null if it has none
+		@param file The file to read
+		@return The level read
+	*/
+	public static Level read(GameLevel gameLevel, File file) throws IOException {
+		return read(gameLevel, file, 0);
+	}
+
+	/**	Reads a level from the given file in the binary level format. The file is memory-mapped and read directly, without tokenizing.
+		@param gameLevel The GameLevel associated with the level, or null if it has none
+		@param file The file to read
+		@param memoryBudget Roughly the most bytes of tiles to keep in memory, with the rest on disk, or 0 to keep every tile in memory
+		@return The level read
+	*/
+	public static Level read(GameLevel gameLevel, File file, long memoryBudget) throws IOException {
+		RandomAccessFile in = new RandomAccessFile(file, "r");
+
+		try {
+			FileChannel channel = in.getChannel();
+
+			if (channel.size() > Integer.MAX_VALUE)
+				throw new IOException("Level file too large to map: " + file);
+
+			return read(gameLevel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), memoryBudget);
+		} finally {
+			in.close();		// the mapping stays valid after the file is closed
+		}
+	}
+
+	/**	Reads a level in the binary level format from a stream, such as a level compiled into the game's resources.
+		@param gameLevel The GameLevel associated with the level, or null if it has none
+		@param in The stream to read, which is closed afterwards
+		@param memoryBudget Roughly the most bytes of tiles to keep in memory, with the rest on disk, or 0 to keep every tile in memory
+		@return The level read
+	*/
+	public static Level read(GameLevel gameLevel, InputStream in, long memoryBudget) throws IOException {
+		byte[] bytes = new byte[1 << 16];
+		int length = 0;
+
+		try {
+			for (int n; (n = in.read(bytes, length, bytes.length - length)) >= 0; ) {
+				length += n;
+
+				if (length == bytes.length)
+					bytes = Arrays.copyOf(bytes, bytes.length * 2);
+			}
+		} finally {
+			in.close();
+		}
+
+		return read(gameLevel, ByteBuffer.wrap(bytes, 0, length), memoryBudget);
+	}
+
+	/**	Reads a level in the binary level format from a buffer.
+		@param gameLevel The GameLevel associated with the level, or null if it has none
+		@param buffer The level data, positioned at its start
+		@param memoryBudget Roughly the most bytes of tiles to keep in memory, with the rest on disk, or 0 to keep every tile in memory
+		@return The level read
+	*/
+	public static Level read(GameLevel gameLevel, ByteBuffer buffer, long memoryBudget) throws IOException {
+		try {
+			return readLevel(gameLevel, buffer, memoryBudget);
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Level file is truncated");
+		}
+	}
+
+	/**	Reads a level in the binary level format from a buffer, without catching reads past the end of the buffer.
+		@param gameLevel The GameLevel associated with the level, or null if it has none
+		@param buffer The level data, positioned at its start
+		@param memoryBudget Roughly the most bytes of tiles to keep in memory, with the rest on disk, or 0 to keep every tile in memory
+		@return The level read
+	*/
+	private static Level readLevel(GameLevel gameLevel, ByteBuffer buffer, long memoryBudget) throws IOException {
+		if (buffer.remaining() < 4 || buffer.getInt() != MAGIC)
+			throw new IOException("Not a level file");
+
+		short version = buffer.getShort();
+		if (version < 1 || version > VERSION)
+			throw new IOException("Unsupported level file version " + version);
+
+		if (version >= 3)
+			buffer.getLong();	// the source hash, which is only checked by readSourceHash
+
+		int width = buffer.getInt();
+		int height = buffer.getInt();
+		Background[] backgrounds = Background.values();
+		int background = buffer.getShort();
+		double playerStartX = buffer.getDouble();
+		double playerStartY = buffer.getDouble();
+		int dataCount = buffer.getInt();
+
+		if (width <= 0 || height <= 0 || (long)width * height > Integer.MAX_VALUE)
+			throw new IOException("Bad level size " + width + "x" + height);
+		if (background < 0 || background >= backgrounds.length)
+			throw new IOException("Bad background id " + background);
+		int words = version >= 2 ? (width*height + 63) / 64 : 0;
+
+		if (buffer.remaining() < (long)width * height * 2 + words * 3L * 8)
+			throw new IOException("Level file is truncated");
+
+		Material[] materials = Material.values();
+		Level level;
+		BitSet interactive = null;
+
+		if (version >= 2 && memoryBudget <= 0) {
+			// the tile indexes were worked out by LevelCompiler, so the grid can be read in bulk
+			short[] ids = new short[width * height];
+			buffer.asShortBuffer().get(ids);
+			buffer.position(buffer.position() + width * height * 2);
+
+			// climbable and drawable tiles aren't indexed in the file, but are cheap to find while checking the ids.
+			// Drawable tiles are gathered into words first, as there are too many to set one at a time
+			TileMask climbable = new TileMask(width * height);
+			long[] drawableWords = new long[(width*height + 63) / 64];
+
+			for (int i=0; i < ids.length; i++) {
+				if (ids[i] < 0 || ids[i] >= materials.length)
+					throw new IOException("Bad material id " + ids[i] + " at " + (i % width) + ", " + (i / width));
+
+				if (materials[ids[i]].getProperties().isClimbable())
+					climbable.set(i, true);
+				if (materials[ids[i]].isVisible())
+					drawableWords[i >> 6] |= 1L << i;
+			}
+
+			TileMask solid = new TileMask(width * height, readWords(buffer, words));
+			TileMask drawable = new TileMask(width * height, drawableWords);
+			interactive = readBits(buffer, words);
+			BitSet animated = readBits(buffer, words);
+
+			level = new Level(gameLevel, new PackedTileGrid(width, ids, animated, interactive), solid, climbable, drawable, width, height, backgrounds[background], playerStartX, playerStartY);
+		} else {
+			level = new Level(gameLevel, width, height, backgrounds[background], playerStartX, playerStartY, memoryBudget);
+
+			ShortBuffer grid = buffer.asShortBuffer();
+			short[] row = new short[width];
+
+			for (int y=0; y < height; y++) {
+				grid.get(row);
+
+				for (int x=0; x < width; x++) {
+					if (row[x] < 0 || row[x] >= materials.length)
+						throw new IOException("Bad material id " + row[x] + " at " + x + ", " + y);
+
+					level.setTile(x, y, materials[row[x]], TileData.EMPTY);
+				}
+			}
+
+			buffer.position(buffer.position() + width * height * 2);
+
+			if (version >= 2) {
+				readBits(buffer, words);
+				interactive = readBits(buffer, words);
+				readBits(buffer, words);
+			}
+		}
+
+		for (int i=0; i < dataCount; i++) {
+			int x = buffer.getInt();
+			int y = buffer.getInt();
+			String[] entries = new String[buffer.getShort() & 0xFFFF];
+
+			for (int j=0; j < entries.length; j++) {
+				byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+				buffer.get(bytes);
+				entries[j] = new String(bytes, UTF_8);
+			}
+
+			if (x < 0 || y < 0 || x >= width || y >= height)
+				throw new IOException("Tile data out of bounds at " + x + ", " + y);
+
+			TileData data = new TileData(entries);
+			data.compile();		// parse tile placements now rather than during the game
+
+			if (interactive != null)
+				level.setTile(x, y, level.getMaterialAt(x, y), data, interactive.get(y*width + x));
+			else
+				level.setTile(x, y, level.getMaterialAt(x, y), data);
+		}
+
+		return level;
+	}
+
+	/**	Reads a bit set written by writeBits.
+		@param buffer The buffer to read from
+		@param words The number of longs to read
+		@return The bit set read
+	*/
+	private static BitSet readBits(ByteBuffer buffer, int words) {
+		return BitSet.valueOf(readWords(buffer, words));
+	}
+
+	/**	Reads the longs of a bit set written by writeBits.
+		@param buffer The buffer to read from
+		@param words The number of longs to read
+		@return The longs read
+	*/
+	private static long[] readWords(ByteBuffer buffer, int words) {
+		long[] bits = new long[words];
+		LongBuffer longs = buffer.asLongBuffer();
+
+		longs.get(bits);
+		buffer.position(buffer.position() + words * 8);
+
+		return bits;
+	}
+}
@@ -0,0 +1,111 @@
+package me.kyle1320.platformer;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+/**	Compares loading a large level from the text level format with loading it from the binary level format.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class LevelLoadBenchmark {
+	/**	Writes a level that is mostly air with hills of ground, and custom data on one tile in a thousand, in the text level format.
+		@param file The file to write to
+		@param width The level width
+		@param height The level height
+	*/
+	static void writeTextLevel(File file, int width, int height) throws IOException {
+		StringBuilder out = new StringBuilder(width * 4);
+		FileWriter writer = new FileWriter(file);
+
+		writer.write(width + " " + height + "\n");
+
+		for (int y=height-1; y >= 0; y--) {
+			out.setLength(0);
+
+			for (int x=0; x < width; x++) {
+				int ground = 2 + (x / 7) % 5;
+				out.append(y < ground ? Material.castleCenter.ordinal() : (x + y) % 97 == 0 ? Material.coinGold.ordinal() : Material.air.ordinal()).append('\t');
+			}
+
+			writer.write(out.append('\n').toString());
+		}
+
+		writer.write("0 2 10\n");	// background and player start
+
+		for (int i=0; i < width * height; i += 1000)
+			writer.write((i % width) + " " + (i / width) + " 1;2;[3;4]\n");
+
+		writer.close();
+	}
+
+	/**	Returns the number of bytes allocated so far by the current thread.
+		@return The number of bytes allocated by the current thread, or -1 if the JVM cannot tell
+	*/
+	static long allocatedBytes() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+		if (bean instanceof com.sun.management.ThreadMXBean)
+			return ((com.sun.management.ThreadMXBean)bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+
+		return -1;
+	}
+
+	/**	Loads a level in the given format and prints how long it took and how much it allocated.
+		@param name The name of the format, to print
+		@param file The file to load
+		@param binary True if the file is in the binary level format
+		@return The level loaded
+	*/
+	private static Level load(String name, File file, boolean binary) throws Exception {
+		Level level = null;
+		long best = Long.MAX_VALUE;
+		long allocated = 0;
+
+		for (int i=0; i < 5; i++) {
+			long bytes = allocatedBytes();
+			long start = System.nanoTime();
+
+			level = binary ? LevelFile.read(null, file) : new Level(null, new LevelTokenizer(file));
+
+			best = Math.min(best, System.nanoTime() - start);
+			allocated = allocatedBytes() - bytes;
+		}
+
+		System.out.printf("%s: %.1f ms, %.1f MB allocated, %.1f MB file%n", name, best / 1e6, allocated / 1e6, file.length() / 1e6);
+
+		return level;
+	}
+
+	/**	<pre>Runs the benchmark and prints the results. Arguments are read as follows:
+	0:	int	The level width (default 2000)
+	1:	int	The level height (default 1000)</pre>
+		@param args A String array of program arguments
+	*/
+	public static void main(String[] args) throws Exception {
+		System.setProperty("java.awt.headless", "true");
+
+		int width = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		int height = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+
+		File text = File.createTempFile("level", ".txt");
+		File binary = File.createTempFile("level", ".lvl");
+		text.deleteOnExit();
+		binary.deleteOnExit();
+
+		writeTextLevel(text, width, height);
+		Level fromText = load("text", text, false);
+
+		LevelFile.write(fromText, binary);
+		Level fromBinary = load("binary", binary, true);
+
+		// check that both formats give the same level
+		for (int y=0; y < height; y++) {
+			for (int x=0; x < width; x++) {
+				if (fromText.getMaterialAt(x, y) != fromBinary.getMaterialAt(x, y) || fromText.getDataAt(x, y).getSize() != fromBinary.getDataAt(x, y).getSize())
+					throw new IllegalStateException("Levels differ at " + x + ", " + y);
+			}
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package me.kyle1320.platformer;
+
+import java.nio.ByteBuffer;
+
+/**	Measures how much heap a loaded Level takes per million tiles.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class LevelMemoryBenchmark {
+	/**	Builds a level that is mostly air with hills of ground, and custom data on some tiles.
+		@param width The level width
+		@param height The level height
+		@param dataSpacing The number of tiles per tile with custom data
+		@return The level data in the text level format
+	*/
+	private static String buildLevel(int width, int height, int dataSpacing) {
+		StringBuilder out = new StringBuilder(width * height * 3);
+		out.append(width).append(' ').append(height).append('\n');
+
+		for (int y=height-1; y >= 0; y--) {
+			for (int x=0; x < width; x++) {
+				int ground = 2 + (x / 7) % 5;
+				out.append(y < ground ? Material.castleCenter.ordinal() : Material.air.ordinal()).append(' ');
+			}
+			out.append('\n');
+		}
+
+		out.append("0 2 10\n");	// background and player start
+
+		for (int i=0; i < width * height; i += dataSpacing)
+			out.append(i % width).append(' ').append(i / width).append(" 1;2;true\n");
+
+		return out.toString();
+	}
+
+	/**	Returns the amount of heap in use after collecting garbage.
+		@return The number of bytes of heap in use
+	*/
+	private static long usedHeap() {
+		Runtime rt = Runtime.getRuntime();
+
+		for (int i=0; i < 5; i++) {
+			System.gc();
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {}
+		}
+
+		return rt.totalMemory() - rt.freeMemory();
+	}
+
+	/**	<pre>Runs the benchmark and prints the results. Arguments are read as follows:
+	0:	int	The level width (default 1000)
+	1:	int	The level height (default 1000)
+	2:	long	Roughly the most bytes of tiles to keep in memory, or 0 to keep them all (default 0)
+	3:	int 	The number of tiles per tile with custom data (default 100)</pre>
+		@param args A String array of program arguments
+	*/
+	public static void main(String[] args) throws Exception {
+		System.setProperty("java.awt.headless", "true");
+
+		int width = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		int height = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+		long memoryBudget = args.length > 2 ? Long.parseLong(args[2]) : 0;
+		int dataSpacing = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+
+		String data = buildLevel(width, height, dataSpacing);
+		Material.air.getSprite();	// load the sprites before measuring
+
+		long before = usedHeap();
+		Level level = new Level(null, new LevelTokenizer(ByteBuffer.wrap(data.getBytes())), memoryBudget);
+		level.focus(level.getPlayerStartX(), level.getPlayerStartY());	// as a game would when it starts, so paging settles
+		long after = usedHeap();
+
+		double cells = (double)width * height;
+		System.out.printf("%dx%d level: %d bytes, %.1f bytes/tile (%.1f MB per million tiles)%n",
+			level.getWidth(), level.getHeight(), after - before, (after - before) / cells, (after - before) / cells);
+
+		level.close();
+	}
+}
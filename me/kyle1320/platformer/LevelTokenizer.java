@@ -0,0 +1,301 @@
+package me.kyle1320.platformer;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**	Reads the numbers and lines of a level in the text level format, as a faster stand-in for Scanner.
+	Bytes are read in blocks and numbers are parsed straight from them, so no Strings are made except for tile data lines.
+	Tokens are separated by whitespace, as with Scanner.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class LevelTokenizer {
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+	private static final Charset US_ASCII = Charset.forName("US-ASCII");
+
+	// powers of ten that can be represented exactly as doubles
+	private static final double[] POWERS_OF_TEN = new double[23];
+
+	static {
+		POWERS_OF_TEN[0] = 1;
+		for (int i=1; i < POWERS_OF_TEN.length; i++)
+			POWERS_OF_TEN[i] = POWERS_OF_TEN[i-1] * 10;
+	}
+
+	// exactly one of these is the source of bytes
+	private InputStream stream;
+	private ByteBuffer source;
+
+	// the block of bytes being read
+	private byte[] bytes;
+	private int position, limit;
+
+	// the last token read, reused for every token
+	private byte[] token = new byte[32];
+	private int tokenLength;
+
+	private int line = 1;
+
+	/**	Creates a new LevelTokenizer that reads from a stream. The stream is closed by close.
+		@param stream The stream to read
+	*/
+	public LevelTokenizer(InputStream stream) {
+		this.stream = stream;
+		this.bytes = new byte[1 << 16];
+	}
+
+	/**	Creates a new LevelTokenizer that reads a file.
+		@param file The file to read
+	*/
+	public LevelTokenizer(File file) throws IOException {
+		this(new FileInputStream(file));
+	}
+
+	/**	Creates a new LevelTokenizer that reads the remaining bytes of a buffer, such as a memory-mapped file.
+		If the buffer is backed by an array, the array is read directly.
+		@param source The buffer to read
+	*/
+	public LevelTokenizer(ByteBuffer source) {
+		if (source.hasArray()) {
+			this.bytes = source.array();
+			this.position = source.arrayOffset() + source.position();
+			this.limit = source.arrayOffset() + source.limit();
+		} else {
+			this.source = source;
+			this.bytes = new byte[1 << 16];
+		}
+	}
+
+	/**	Reads the next block of bytes once every byte of the current one has been used.
+		@return False if there are no bytes left
+	*/
+	private boolean fill() throws IOException {
+		if (position < limit)
+			return true;
+
+		position = 0;
+		limit = 0;
+
+		if (stream != null) {
+			int n;
+			while ((n = stream.read(bytes)) == 0);
+
+			if (n > 0)
+				limit = n;
+		} else if (source != null && source.hasRemaining()) {
+			limit = Math.min(bytes.length, source.remaining());
+			source.get(bytes, 0, limit);
+		}
+
+		return limit > 0;
+	}
+
+	/**	Returns true if the given byte separates tokens. These are the ASCII characters Scanner treats as whitespace.
+		@param b The byte to test
+		@return True if the byte is whitespace
+	*/
+	private static boolean isWhitespace(int b) {
+		return b == ' ' || (b >= '\t' && b <= '\r') || (b >= 0x1C && b <= 0x1F);
+	}
+
+	/**	Skips whitespace up to the start of the next token.
+		@return False if there are no tokens left
+	*/
+	private boolean skipWhitespace() throws IOException {
+		while (fill()) {
+			byte b = bytes[position];
+
+			if (!isWhitespace(b))
+				return true;
+
+			if (b == '\n')
+				line++;
+
+			position++;
+		}
+
+		return false;
+	}
+
+	/**	Reads the next token into the token buffer.
+		@param expected What the token should be, for the error thrown if there are no tokens left
+	*/
+	private void nextToken(String expected) throws IOException {
+		if (!skipWhitespace())
+			throw new IOException("Expected " + expected + " at line " + line + " but the file ended");
+
+		tokenLength = 0;
+
+		while (fill() && !isWhitespace(bytes[position])) {
+			if (tokenLength == token.length)
+				token = Arrays.copyOf(token, token.length * 2);
+
+			token[tokenLength++] = bytes[position++];
+		}
+	}
+
+	/**	Returns an error for a token that could not be parsed.
+		@param expected What the token should have been
+		@return The exception to throw
+	*/
+	private IOException badToken(String expected) {
+		return new IOException("Expected " + expected + " at line " + line + " but found \"" + new String(token, 0, tokenLength, UTF_8) + "\"");
+	}
+
+	/**	Returns true if there is another token to read.
+		@return True if there is another token
+	*/
+	public boolean hasNext() throws IOException {
+		return skipWhitespace();
+	}
+
+	/**	Reads the next token as an int, with an optional sign.
+		@return The int read
+	*/
+	public int nextInt() throws IOException {
+		if (!skipWhitespace())
+			throw new IOException("Expected a whole number at line " + line + " but the file ended");
+
+		// parse straight from the block, only copying the token if it turns out to be bad
+		boolean negative = false;
+		byte b = bytes[position];
+
+		if (b == '-' || b == '+') {
+			negative = b == '-';
+			position++;
+		}
+
+		long value = 0;
+		int digits = 0;
+
+		while (fill()) {
+			int digit = bytes[position] - '0';
+
+			if (digit < 0 || digit > 9)
+				break;
+
+			value = value * 10 + digit;
+			digits++;
+			position++;
+
+			if (value > (long)Integer.MAX_VALUE + 1)
+				break;
+		}
+
+		if (digits == 0 || value > (long)Integer.MAX_VALUE + (negative ? 1 : 0) || (fill() && !isWhitespace(bytes[position]))) {
+			String start = (negative ? "-" : "") + (digits > 0 ? Long.toString(value) : "");
+
+			if (fill() && !isWhitespace(bytes[position]))
+				nextToken("a whole number");
+			else
+				tokenLength = 0;
+
+			throw new IOException("Expected a whole number that fits in an int at line " + line + " but found \"" + start + new String(token, 0, tokenLength, UTF_8) + "\"");
+		}
+
+		return (int)(negative ? -value : value);
+	}
+
+	/**	Reads the next token as a double. Plain decimals of up to 15 significant digits are parsed directly,
+		which gives the same result as Double.parseDouble; anything else is handed to Double.parseDouble.
+		@return The double read
+	*/
+	public double nextDouble() throws IOException {
+		nextToken("a number");
+
+		int i = 0;
+		boolean negative = false;
+
+		if (token[0] == '-' || token[0] == '+') {
+			negative = token[0] == '-';
+			i++;
+		}
+
+		long mantissa = 0;
+		int digits = 0;
+		int fractionDigits = 0;
+		boolean point = false;
+		boolean sawDigit = false;
+		boolean simple = true;
+
+		for (; i < tokenLength && simple; i++) {
+			byte b = token[i];
+
+			if (b >= '0' && b <= '9') {
+				if (mantissa > 0 || b != '0')
+					digits++;
+
+				sawDigit = true;
+
+				mantissa = mantissa * 10 + (b - '0');
+
+				if (point)
+					fractionDigits++;
+			} else if (b == '.' && !point) {
+				point = true;
+			} else {
+				simple = false;
+			}
+		}
+
+		// a single multiply or divide by an exact power of ten is correctly rounded
+		if (simple && sawDigit && digits <= 15 && fractionDigits < POWERS_OF_TEN.length) {
+			double value = mantissa / POWERS_OF_TEN[fractionDigits];
+			return negative ? -value : value;
+		}
+
+		try {
+			return Double.parseDouble(new String(token, 0, tokenLength, US_ASCII));
+		} catch (NumberFormatException e) {
+			throw badToken("a number");
+		}
+	}
+
+	/**	Reads the rest of the current line, not including the line break, which is skipped.
+		@return The rest of the line
+	*/
+	public String nextLine() throws IOException {
+		tokenLength = 0;
+
+		while (fill()) {
+			byte b = bytes[position++];
+
+			if (b == '\n') {
+				line++;
+				break;
+			} else if (b == '\r') {
+				if (fill() && bytes[position] == '\n')
+					position++;
+
+				line++;
+				break;
+			}
+
+			if (tokenLength == token.length)
+				token = Arrays.copyOf(token, token.length * 2);
+
+			token[tokenLength++] = b;
+		}
+
+		return new String(token, 0, tokenLength, UTF_8);
+	}
+
+	/**	Returns the line number of the next byte to be read, for error messages.
+		@return The current line number, starting at 1
+	*/
+	public int getLine() {
+		return line;
+	}
+
+	/**	Closes the stream being read, if there is one.
+	*/
+	public void close() throws IOException {
+		if (stream != null)
+			stream.close();
+	}
+}
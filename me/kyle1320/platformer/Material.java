@@ -1,5 +1,8 @@
 package me.kyle1320.platformer;
 
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
 /**	An enumeration of "materials" that tiles can be made of. Each has a sprite and properties.
 	@author Kyle Cutler
 	@version 1/1/14
@@ -217,10 +220,14 @@ public enum Material {
 		buttonGreen_pressed.properties = new TileProperties(true, false, new ButtonPressedInteraction(buttonGreen));
 		buttonRed_pressed.properties = new TileProperties(true, false, new ButtonPressedInteraction(buttonRed));
 		buttonYellow_pressed.properties = new TileProperties(true, false, new ButtonPressedInteraction(buttonYellow));
+
+		for (Material m : values())
+			m.visible = m.isAnimated() || hasVisiblePixels(m.sprite.getFrame(0).getImage());
 	}
 
 	private GameSprite sprite;
 	private TileProperties properties;
+	private boolean visible;	// whether any pixel of the sprite can be seen, so tiles of invisible materials such as air need not be drawn
 
 	/**	Creates a new Material with the given sprite and default properties
 		@param sprite The GameSprite that represents this Material
@@ -243,7 +250,7 @@ public enum Material {
 		@return The shape of this material's sprite
 	*/
 	public Shape getSpriteShape() {
-		return sprite.getSprite().getShape();
+		return sprite.getFrame(0).getShape();
 	}
 
 	/**	Returns a copy of this Material's sprite
@@ -253,6 +260,53 @@ public enum Material {
 		return sprite.getSprite();
 	}
 
+	/**	Returns the image this Material shows at the given animation tick. The returned sprite is shared by every tile of this material.
+		@param tick The current animation tick
+		@return The Sprite to draw for that tick
+	*/
+	public Sprite getSprite(long tick) {
+		return sprite.getFrame(tick);
+	}
+
+	/**	Returns true if this Material's sprite is animated.
+		@return True if this Material's sprite is animated
+	*/
+	public boolean isAnimated() {
+		return sprite.isAnimated();
+	}
+
+	/**	Returns true if any pixel of this Material's sprite can be seen. Animated sprites are taken to always be visible.
+		@return True if tiles of this Material need to be drawn
+	*/
+	public boolean isVisible() {
+		return visible;
+	}
+
+	/**	Returns true if any pixel of an image is not fully transparent.
+		@param image The image to check
+		@return True if the image has a visible pixel, or false if it has none or is null
+	*/
+	private static boolean hasVisiblePixels(BufferedImage image) {
+		if (image == null)
+			return false;
+
+		if (image.getTransparency() == Transparency.OPAQUE)
+			return true;
+
+		int[] row = new int[image.getWidth()];
+
+		for (int y=0; y < image.getHeight(); y++) {
+			image.getRGB(0, y, row.length, 1, row, 0, row.length);
+
+			for (int argb : row) {
+				if ((argb >>> 24) != 0)
+					return true;
+			}
+		}
+
+		return false;
+	}
+
 	/**	Returns a copy of this Material's properties
 		@return A copy of this Material's properties
 	*/
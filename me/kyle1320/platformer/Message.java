@@ -53,6 +53,16 @@ public class Message implements Updatable {
 		@param height The height to draw the display
 	*/
 	public void draw(Graphics2D g, int width, int height) {
+		draw(g, text, width, height);
+	}
+
+	/**	Draws a message with the given text on the given Graphics2D object, with the given screen width and height
+		@param g The Graphics2D object on which to draw
+		@param text The text of the message, or an empty string to draw nothing
+		@param width The width to draw the display
+		@param height The height to draw the display
+	*/
+	public static void draw(Graphics2D g, String text, int width, int height) {
 		if (text.length() == 0)
 			return;
 
@@ -75,6 +85,13 @@ public class Message implements Updatable {
 		return text;
 	}
 
+	/**	Returns the time left before this message disappears.
+		@return The time, in milliseconds, before this message disappears, or a negative number if it stays until replaced
+	*/
+	public long getDelay() {
+		return delay;
+	}
+
 	/**	Sets the text and disappear delay of this message.
 		@param text The new text for this message
 		@param delay The time, in milliseconds, before this message should disappear
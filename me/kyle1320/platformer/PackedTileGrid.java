@@ -0,0 +1,104 @@
+package me.kyle1320.platformer;
+
+import java.util.BitSet;
+
+/**	A TileGrid that keeps every tile in memory, as one array of material ids.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class PackedTileGrid implements TileGrid {
+	private int width;
+
+	// material ids, indexed by y*width + x
+	private short[] materials;
+
+	// one bit per tile, set if the tile is animated, so they can be found without searching the whole level
+	private BitSet animatedTiles;
+
+	// one bit per tile, set if the tile has an interaction that might act. A TileMask so that a row can be searched without looking past its end
+	private TileMask interactiveTiles;
+
+	/**	Creates a new PackedTileGrid of the given size, filled with air.
+		@param width The level width
+		@param height The level height
+	*/
+	public PackedTileGrid(int width, int height) {
+		this(width, new short[width * height], new BitSet(width * height), new BitSet(width * height));
+	}
+
+	/**	Creates a new PackedTileGrid that uses the given arrays, such as ones read straight from a compiled level file.
+		@param width The level width
+		@param materials The material id of every tile, indexed by y*width + x
+		@param animatedTiles The animated tiles, indexed by y*width + x
+		@param interactiveTiles The interactive tiles, indexed by y*width + x
+	*/
+	public PackedTileGrid(int width, short[] materials, BitSet animatedTiles, BitSet interactiveTiles) {
+		this.width = width;
+
+		this.materials = materials;
+		this.animatedTiles = animatedTiles;
+		this.interactiveTiles = new TileMask(materials.length, interactiveTiles.toLongArray());
+	}
+
+	/**	Returns the material id of the tile at the given coordinates.
+		@param x The x coordinate
+		@param y The y coordinate
+		@return The ordinal of the tile's Material
+	*/
+	public short getMaterial(int x, int y) {
+		return materials[y*width + x];
+	}
+
+	/**	Sets the tile at the given coordinates.
+		@param x The x coordinate
+		@param y The y coordinate
+		@param material The ordinal of the tile's new Material
+		@param animated True if the tile is animated
+		@param interactive True if the tile has an interaction that might act
+	*/
+	public void setTile(int x, int y, short material, boolean animated, boolean interactive) {
+		int index = y*width + x;
+
+		materials[index] = material;
+		animatedTiles.set(index, animated);
+		interactiveTiles.set(index, interactive);
+	}
+
+	/**	Finds the first interactive tile in a row, within a range of x coordinates.
+		@param y The y coordinate of the row
+		@param minx The first x coordinate to look at
+		@param maxx The last x coordinate to look at
+		@return The x coordinate of the first interactive tile, or -1 if there is none in the range
+	*/
+	public int nextInteractiveTile(int y, int minx, int maxx) {
+		int next = interactiveTiles.nextSetBit(y*width + minx, y*width + maxx);
+
+		if (next < 0)
+			return -1;
+
+		return next - y*width;
+	}
+
+	/**	Returns every animated tile in the level.
+		@return The index (y*width + x) of each animated tile, in increasing order
+	*/
+	public int[] getAnimatedTiles() {
+		int[] tiles = new int[animatedTiles.cardinality()];
+
+		int n = 0;
+		for (int i=animatedTiles.nextSetBit(0); i >= 0; i=animatedTiles.nextSetBit(i+1))
+			tiles[n++] = i;
+
+		return tiles;
+	}
+
+	/**	Does nothing, since every tile is always in memory.
+		@param x The x coordinate
+		@param y The y coordinate
+	*/
+	public void focus(double x, double y) {}
+
+	/**	Does nothing, as every tile is in memory.
+	*/
+	public void close() {}
+}
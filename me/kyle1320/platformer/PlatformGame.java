@@ -5,14 +5,19 @@ package me.kyle1320.platformer;
 	@version 1/1/14
 */
 public class PlatformGame {
-	/**	Runs the game.
-		@param args A String array of program arguments. Ignored.
+	/**	<pre>Runs the game. Arguments are read as follows:
+	0:	String	The RenderMode name, active or passive (default passive)
+	1:	int		In active mode, the number of frames to draw each second, or 0 for as fast as they can be shown (default 60)</pre>
+		@param args A String array of program arguments
 	*/
 	public static void main(String[] args) {
+		RenderMode mode = args.length > 0 ? RenderMode.valueOf(args[0]) : RenderMode.passive;
+		int targetFps = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+
 		// load the derby driver so we can connect to the database
 		DBConnect.loadDriver();
 
-		GameWindow window = new GameWindow();
+		GameWindow window = new GameWindow(mode, targetFps);
 		window.display();
 	}
 }
\ No newline at end of file
@@ -1,19 +1,14 @@
 package me.kyle1320.platformer;
 
-import java.awt.event.KeyEvent;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 
 /**	The Entity that the user controls in the game.
 	@author Kyle Cutler
 	@version 1/1/14
 */
 public class Player extends Entity {
-	// Static constants mapping movement keys.
-	private static final int LEFT_KEY = KeyEvent.VK_A;
-	private static final int RIGHT_KEY = KeyEvent.VK_D;
-	private static final int UP_KEY = KeyEvent.VK_W;
-	private static final int DOWN_KEY = KeyEvent.VK_S;
-	private static final int JUMP_KEY = KeyEvent.VK_SPACE;
-
 	// Player speed won't change according to the instance.
 	private static final double MOVE_SPEED = 3.0;
 
@@ -30,6 +25,8 @@ public class Player extends Entity {
 	private boolean[] keys;
 	private int points;
 
+	private TileRegion nearbyTiles = new TileRegion();	// reused by every interaction pass
+
 	/**	Creates a new player with the given properties.
 		@param x The x coordinate of this player
 		@param y The y coordinate of this player
@@ -55,7 +52,7 @@ public class Player extends Entity {
 
 	/**	Updates this player.
 	*/
-	public synchronized void update() {
+	public void update() {
 		message.update();	// update the display message
 
 		playerMovement();	// do player movement (jump, climb, key movement)
@@ -160,17 +157,26 @@ public class Player extends Entity {
 		@return True if the player is too tall to stand up in the space they are in
 	*/
 	private boolean tooTallForSpace() {
+		Level level = getGame().getLevel();
 		double height = standSprite.getShape().getHeight();
-		Tile topLeft = getGame().getLevel().getTileAt((int)getMinX(), (int)(getMinY() + height));
-		Tile topRight = getGame().getLevel().getTileAt((int)getMaxX(), (int)(getMinY() + height));
 
-		boolean leftSolid = topLeft != null && topLeft.getProperties().isSolid();
-		boolean rightSolid = topRight != null && topRight.getProperties().isSolid();
+		int left = (int)getMinX();
+		int right = (int)getMaxX();
+		int top = (int)(getMinY() + height);
+
+		boolean leftSolid = level.isSolid(left, top);
+		boolean rightSolid = level.isSolid(right, top);
 
 		if (!(leftSolid || rightSolid))
 			return false;
 
-		double miny = leftSolid ? rightSolid ? Math.min(topLeft.getMinY(), topRight.getMinY()) : topLeft.getMinY() : rightSolid ? topRight.getMinY() : 0;
+		// the bottom of the lowest solid tile above, which depends on the shape of its material
+		double miny = Double.POSITIVE_INFINITY;
+
+		if (leftSolid)
+			miny = top + level.getMaterialAt(left, top).getSpriteShape().getMinY();
+		if (rightSolid)
+			miny = Math.min(miny, top + level.getMaterialAt(right, top).getSpriteShape().getMinY());
 
 		return getMinY() + height > miny;
 	}
@@ -179,64 +185,58 @@ public class Player extends Entity {
 		@return True if the player is over a climbable object
 	*/
 	private boolean canClimbUp() {
-		Tile bottom = getGame().getLevel().getTileAt((int)getMidX(), (int)getY());
-
-		return bottom != null && bottom.getProperties().isClimbable();
+		return getGame().getLevel().isClimbable((int)getMidX(), (int)getY());
 	}
 
-	/**	Calls interactions with tiles within a square radius of 2.
+	/**	Calls interactions with tiles within a square radius of 2. Only tiles with an interaction that might act are visited.
 	*/
-	private void interactWithTiles() {
-		GameState game = getGame();
+	void interactWithTiles() {
+		Level level = getGame().getLevel();
 
 		int minx = (int)Math.max(0, getX() - 2);
 		int miny = (int)Math.max(0, getY() - 2);
 
-		int maxx = (int)Math.min(game.getLevel().getWidth() - 1, (getX() + getWidth() + 2));
-		int maxy = (int)Math.min(game.getLevel().getHeight() - 1, (getY() + getHeight() + 2));
+		int maxx = (int)(getX() + getWidth() + 2);
+		int maxy = (int)(getY() + getHeight() + 2);
 
-		for (int y=miny; y <= maxy; y++) {
-			for (int x=minx; x <= maxx; x++) {
-				Tile tile = game.getLevel().getTileAt(x, y);
-				
-				tile.interact(this);
-			}
-		}
+		// the region looks up the next interactive tile each time, since interactions can change the tiles after them
+		for (nearbyTiles.start(level, TileIndex.interactive, minx, miny, maxx, maxy); nearbyTiles.next(); )
+			level.getTileAt(nearbyTiles.getX(), nearbyTiles.getY()).interact(this);
 	}
 
-	/**	Returns true if the user is pressing the up movement key.
+	/**	Returns true if the up button is held in this update's input frame.
 		@return True if the user is pressing the up movement key
 	*/
 	public boolean upKeyPressed() {
-		return Input.isKeyPressed(UP_KEY);
+		return getGame().getInputFrame().isPressed(InputFrame.UP);
 	}
 
-	/**	Returns true if the user is pressing the down movement key.
+	/**	Returns true if the down button is held in this update's input frame.
 		@return True if the user is pressing the down movement key
 	*/
 	public boolean downKeyPressed() {
-		return Input.isKeyPressed(DOWN_KEY);
+		return getGame().getInputFrame().isPressed(InputFrame.DOWN);
 	}
 
-	/**	Returns true if the user is pressing the left movement key.
+	/**	Returns true if the left button is held in this update's input frame.
 		@return True if the user is pressing the left movement key
 	*/
 	public boolean leftKeyPressed() {
-		return Input.isKeyPressed(LEFT_KEY);
+		return getGame().getInputFrame().isPressed(InputFrame.LEFT);
 	}
 
-	/**	Returns true if the user is pressing the right movement key.
+	/**	Returns true if the right button is held in this update's input frame.
 		@return True if the user is pressing the right movement key
 	*/
 	public boolean rightKeyPressed() {
-		return Input.isKeyPressed(RIGHT_KEY);
+		return getGame().getInputFrame().isPressed(InputFrame.RIGHT);
 	}
 
-	/**	Returns true if the user is pressing the jump movement key.
+	/**	Returns true if the jump button is held in this update's input frame.
 		@return True if the user is pressing the jump movement key
 	*/
 	public boolean jumpKeyPressed() {
-		return Input.isKeyPressed(JUMP_KEY);
+		return getGame().getInputFrame().isPressed(InputFrame.JUMP);
 	}
 
 	/**	Returns true if the player has the given key type.
@@ -271,6 +271,56 @@ public class Player extends Entity {
 		points = 0;
 	}
 
+	/**	Writes the state of this player that changes as the game is played, for a GameSnapshot.
+		@param out The stream to write to
+	*/
+	@Override
+	void writeState(DataOutputStream out) throws IOException {
+		super.writeState(out);
+
+		Sprite[] sprites = {standSprite, moveSprite, jumpSprite, crouchSprite, climbSprite};
+		int sprite = 0;
+		while (sprite < sprites.length-1 && sprites[sprite] != getSprite())
+			sprite++;
+
+		int keyBits = 0;
+		for (int i=0; i < keys.length; i++) {
+			if (keys[i])
+				keyBits |= 1 << i;
+		}
+
+		out.writeByte(sprite);
+		out.writeByte((jumping ? 1 : 0) | (crouching ? 2 : 0) | (climbing ? 4 : 0));
+		out.writeInt(keyBits);
+		out.writeInt(points);
+		out.writeUTF(message.getText());
+		out.writeLong(message.getDelay());
+	}
+
+	/**	Reads the state of this player written by writeState.
+		@param in The stream to read from
+	*/
+	@Override
+	void readState(DataInputStream in) throws IOException {
+		super.readState(in);
+
+		Sprite[] sprites = {standSprite, moveSprite, jumpSprite, crouchSprite, climbSprite};
+		setSprite(sprites[in.readByte()]);
+
+		int flags = in.readByte();
+		jumping = (flags & 1) != 0;
+		crouching = (flags & 2) != 0;
+		climbing = (flags & 4) != 0;
+
+		int keyBits = in.readInt();
+		for (int i=0; i < keys.length; i++)
+			keys[i] = (keyBits & (1 << i)) != 0;
+
+		points = in.readInt();
+		message.setText(in.readUTF());
+		message.setDelay((int)in.readLong());
+	}
+
 	/**	Returns the Message being displayed to this player.
 		@return The Message being displayed to this player
 	*/
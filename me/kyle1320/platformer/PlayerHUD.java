@@ -24,25 +24,17 @@ public class PlayerHUD {
 	// Public static constant font to be used by every class when text is drawn.
 	public static final Font gameFont = new Font("Calibri", Font.BOLD, 32);
 
-	private Player player;
-
-	/**	Creates a new PlayerHUD with the given player
-		@param player The player to display information about
-	*/
-	public PlayerHUD(Player player) {
-		this.player = player;
-	}
-
 	/**	Draws the player HUD on the given Graphics2D object, with the given screen width and height
 		@param g The Graphics2D object on which to draw
+		@param snapshot The snapshot of the game holding what to display about the player
 		@param width The width to draw the display
 		@param height The height to draw the display
 	*/
-	public void draw(Graphics2D g, int width, int height) {
-		player.getMessage().draw(g, width, height);	// draw the message being displayed to the player, if any
+	public void draw(Graphics2D g, RenderSnapshot snapshot, int width, int height) {
+		Message.draw(g, snapshot.getMessage(), width, height);	// draw the message being displayed to the player, if any
 		
 		for (KeyType t : KeyType.values()) {		// draw each key type
-			if (player.hasKey(t))					// if the player has the key, draw the proper sprite
+			if (snapshot.hasKey(t))					// if the player has the key, draw the proper sprite
 				t.getKeySprite().draw(g, MARGIN + t.ordinal()*(ELEMENT_SIZE+PADDING), MARGIN/* + ELEMENT_SIZE + PADDING*/, ELEMENT_SIZE, ELEMENT_SIZE);
 			else									// otherwise draw the empty key sprite
 				t.getDisabledKeySprite().draw(g, MARGIN + t.ordinal()*(ELEMENT_SIZE+PADDING), MARGIN/* + ELEMENT_SIZE + PADDING*/, ELEMENT_SIZE, ELEMENT_SIZE);
@@ -57,7 +49,7 @@ public class PlayerHUD {
 
 		alignx -= PADDING;
 
-		int score = player.getPoints();
+		int score = snapshot.getPoints();
 
 		do {										// for each digit in the player score
 			spr = GameSprite.values()[GameSprite.hud_0.ordinal() + score % 10].getSprite();
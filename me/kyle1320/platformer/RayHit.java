@@ -0,0 +1,52 @@
+package me.kyle1320.platformer;
+
+/**	Represents the first tile a ray reaches, found by Level.raycast.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public final class RayHit {
+	public int tileX, tileY;
+	public double distance;		// how far along the ray the tile is reached, in tiles
+	public int normalX, normalY;	// the side of the tile the ray entered through, or 0, 0 if the ray started inside it
+	private boolean hit;
+
+	/**	Creates a new RayHit with no tile reached.
+	*/
+	public RayHit() {
+		reset();
+	}
+
+	/**	Resets this RayHit to no tile reached, so that it can be reused.
+	*/
+	public void reset() {
+		this.tileX = -1;
+		this.tileY = -1;
+		this.distance = Double.POSITIVE_INFINITY;
+		this.normalX = 0;
+		this.normalY = 0;
+		this.hit = false;
+	}
+
+	/**	Sets this RayHit to a tile reached by a ray.
+		@param tileX The x coordinate of the tile
+		@param tileY The y coordinate of the tile
+		@param distance How far along the ray the tile is reached
+		@param normalX The x direction of the side the ray entered through
+		@param normalY The y direction of the side the ray entered through
+	*/
+	void set(int tileX, int tileY, double distance, int normalX, int normalY) {
+		this.tileX = tileX;
+		this.tileY = tileY;
+		this.distance = distance;
+		this.normalX = normalX;
+		this.normalY = normalY;
+		this.hit = true;
+	}
+
+	/**	Returns whether or not the ray reached a tile.
+		@return True if the ray reached a tile within its length
+	*/
+	public boolean hit() {
+		return hit;
+	}
+}
@@ -0,0 +1,193 @@
+package me.kyle1320.platformer;
+
+import java.io.File;
+import java.util.Random;
+
+/**	Measures raycasts and region queries across a large level, using the level's tile indexes, against following the same rays through Tile objects.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class RaycastBenchmark {
+	/**	Follows a ray through the grid the way code did before the tile indexes, making a Tile for each cell it passes through to check whether it is solid.
+		@param level The level to cast through
+		@param x The x coordinate the ray starts at
+		@param y The y coordinate the ray starts at
+		@param dx The x direction of the ray, of length 1
+		@param dy The y direction of the ray, of length 1
+		@param maxDistance The length of the ray
+		@return The distance to the first solid tile, or -1 if there is none
+	*/
+	private static double walkTiles(Level level, double x, double y, double dx, double dy, double maxDistance) {
+		int tx = (int)Math.floor(x);
+		int ty = (int)Math.floor(y);
+
+		double deltaX = dx != 0 ? Math.abs(1 / dx) : Double.POSITIVE_INFINITY;
+		double deltaY = dy != 0 ? Math.abs(1 / dy) : Double.POSITIVE_INFINITY;
+		double nextX = dx > 0 ? (tx + 1 - x) * deltaX : dx < 0 ? (x - tx) * deltaX : Double.POSITIVE_INFINITY;
+		double nextY = dy > 0 ? (ty + 1 - y) * deltaY : dy < 0 ? (y - ty) * deltaY : Double.POSITIVE_INFINITY;
+		double distance = 0;
+
+		while (distance <= maxDistance) {
+			Tile tile = level.getTileAt(tx, ty);
+
+			if (tile != null && tile.getProperties().isSolid())
+				return distance;
+
+			if (nextX < nextY) {
+				distance = nextX;
+				nextX += deltaX;
+				tx += dx > 0 ? 1 : -1;
+			} else {
+				distance = nextY;
+				nextY += deltaY;
+				ty += dy > 0 ? 1 : -1;
+			}
+		}
+
+		return -1;
+	}
+
+	/**	Returns the bytes allocated by measuring allocation itself, so that it can be taken out of the measurements.
+		@return The bytes allocated by one pair of calls to LevelLoadBenchmark.allocatedBytes
+	*/
+	private static long measurementBytes() {
+		long bytes = LevelLoadBenchmark.allocatedBytes();
+		return LevelLoadBenchmark.allocatedBytes() - bytes;
+	}
+
+	/**	Casts the same set of rays with and without the tile indexes, and prints the time per ray and the bytes allocated.
+		@param name The name of the set of rays, to print
+		@param level The level to cast through
+		@param rays The start and direction of each ray, four doubles to a ray
+		@param maxDistance The length of every ray
+	*/
+	private static void castRays(String name, Level level, double[] rays, double maxDistance) {
+		RayHit hit = new RayHit();
+		int count = rays.length / 4;
+		int hits = 0;
+
+		for (int pass=0; pass < 3; pass++) {	// warm up
+			for (int i=0; i < rays.length; i += 4)
+				level.raycast(TileIndex.solid, rays[i], rays[i+1], rays[i+2], rays[i+3], maxDistance, hit);
+		}
+
+		long bytes = LevelLoadBenchmark.allocatedBytes();
+		long start = System.nanoTime();
+
+		for (int i=0; i < rays.length; i += 4) {
+			if (level.raycast(TileIndex.solid, rays[i], rays[i+1], rays[i+2], rays[i+3], maxDistance, hit))
+				hits++;
+		}
+
+		long index = System.nanoTime() - start;
+		bytes = LevelLoadBenchmark.allocatedBytes() - bytes - measurementBytes();
+
+		start = System.nanoTime();
+
+		for (int i=0; i < rays.length; i += 4)
+			walkTiles(level, rays[i], rays[i+1], rays[i+2], rays[i+3], maxDistance);
+
+		long walk = System.nanoTime() - start;
+
+		System.out.printf("%s: %d rays, %d hit%n", name, count, hits);
+		System.out.printf("  tile index: %.2f us/ray, %d bytes allocated%n", index / 1e3 / count, bytes);
+		System.out.printf("  Tile walk:  %.2f us/ray (%.1fx slower)%n", walk / 1e3 / count, (double)walk / index);
+	}
+
+	/**	Visits the interactive tiles in many square regions of the level, with a TileRegion and by looking at every tile, and prints the time per region and the bytes allocated.
+		@param level The level to search
+		@param regions The number of regions
+		@param size The width and height of each region
+		@param random The source of region positions
+	*/
+	private static void queryRegions(Level level, int regions, int size, Random random) {
+		int[] corners = new int[regions * 2];
+
+		for (int i=0; i < corners.length; i += 2) {
+			corners[i] = random.nextInt(level.getWidth() - size);
+			corners[i+1] = random.nextInt(level.getHeight() - size);
+		}
+
+		TileRegion region = new TileRegion();
+		long found = 0;
+
+		for (int i=0; i < corners.length; i += 2) {	// warm up
+			for (region.start(level, TileIndex.interactive, corners[i], corners[i+1], corners[i] + size - 1, corners[i+1] + size - 1); region.next(); )
+				found++;
+		}
+
+		found = 0;
+
+		long bytes = LevelLoadBenchmark.allocatedBytes();
+		long start = System.nanoTime();
+
+		for (int i=0; i < corners.length; i += 2) {
+			for (region.start(level, TileIndex.interactive, corners[i], corners[i+1], corners[i] + size - 1, corners[i+1] + size - 1); region.next(); )
+				found++;
+		}
+
+		long index = System.nanoTime() - start;
+		bytes = LevelLoadBenchmark.allocatedBytes() - bytes - measurementBytes();
+
+		start = System.nanoTime();
+
+		for (int i=0; i < corners.length; i += 2) {
+			for (int y=corners[i+1]; y < corners[i+1] + size; y++) {
+				for (int x=corners[i]; x < corners[i] + size; x++)
+					level.getTileAt(x, y).hasInteraction();
+			}
+		}
+
+		long scan = System.nanoTime() - start;
+
+		System.out.printf("%d interactive tile queries of %dx%d tiles, %d tiles found%n", regions, size, size, found);
+		System.out.printf("  TileRegion: %.2f us/query, %d bytes allocated%n", index / 1e3 / regions, bytes);
+		System.out.printf("  Tile scan:  %.2f us/query (%.1fx slower)%n", scan / 1e3 / regions, (double)scan / index);
+	}
+
+	/**	<pre>Runs the benchmark and prints the results. Arguments are read as follows:
+	0:	int	The level width (default 10000)
+	1:	int	The level height (default 1000)
+	2:	int	The number of rays of each kind (default 2000)</pre>
+		@param args A String array of program arguments
+	*/
+	public static void main(String[] args) throws Exception {
+		System.setProperty("java.awt.headless", "true");
+
+		int width = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		int height = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+		int count = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+
+		File file = File.createTempFile("level", ".txt");
+		file.deleteOnExit();
+		LevelLoadBenchmark.writeTextLevel(file, width, height);
+
+		Level level = new Level(new Level(null, new LevelTokenizer(file)));	// a copy, as levels are played
+		Random random = new Random(1);
+
+		// rays across the whole width of the level through open air, which reach nothing
+		double[] across = new double[count * 4];
+		for (int i=0; i < across.length; i += 4) {
+			across[i] = 0.5;
+			across[i+1] = 10 + random.nextDouble() * (height - 20);
+			across[i+2] = 1;
+			across[i+3] = 0;
+		}
+
+		// long shallow rays down from the sky, which travel a long way before reaching the ground
+		double[] down = new double[count * 4];
+		for (int i=0; i < down.length; i += 4) {
+			double angle = Math.toRadians(1 + random.nextDouble() * 10);
+
+			down[i] = random.nextDouble() * width / 10;
+			down[i+1] = height - 1;
+			down[i+2] = Math.cos(angle);
+			down[i+3] = -Math.sin(angle);
+		}
+
+		System.out.printf("%dx%d level%n", width, height);
+		castRays("Rays across the level", level, across, width);
+		castRays("Shallow rays to the ground", level, down, width * 2);
+		queryRegions(level, count * 10, 64, random);
+	}
+}
@@ -0,0 +1,50 @@
+package me.kyle1320.platformer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**	Hands RenderSnapshots from the thread updating a game to the thread drawing it, without locks, using three snapshots.
+	The updater fills in one snapshot while the drawer reads another, and the third holds the most recently published snapshot.
+	Publishing swaps the filled snapshot with the published one, and the drawer swaps its snapshot with the published one when there is a newer one,
+	so neither thread ever waits for the other, and the drawer always gets the latest whole update even when several are published during one frame.
+	There must be only one updating thread and one drawing thread at a time.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class RenderBuffer {
+	private static final int INDEX = 3;		// the bits of ready holding a snapshot index
+	private static final int FRESH = 4;		// set in ready when the published snapshot has not been taken by the drawer yet
+
+	private final RenderSnapshot[] snapshots;
+	private final AtomicInteger ready;	// the index of the published snapshot, and whether it is fresh
+
+	private int writing;	// the snapshot being filled in, only used by the updating thread
+	private int reading;	// the snapshot being drawn, only used by the drawing thread
+
+	/**	Creates a new RenderBuffer, with nothing published.
+	*/
+	public RenderBuffer() {
+		this.snapshots = new RenderSnapshot[] {new RenderSnapshot(), new RenderSnapshot(), new RenderSnapshot()};
+		this.writing = 0;
+		this.ready = new AtomicInteger(1);
+		this.reading = 2;
+	}
+
+	/**	Fills in a snapshot from the current state of a game and publishes it. This should only be called from the thread updating the game.
+		@param game The game
+	*/
+	public void publish(GameState game) {
+		snapshots[writing].capture(game);
+		writing = ready.getAndSet(writing | FRESH) & INDEX;
+	}
+
+	/**	Returns the most recently published snapshot. This should only be called from the drawing thread,
+		and the snapshot returned may only be read until the next call.
+		@return The latest snapshot, which is empty if nothing has been published
+	*/
+	public RenderSnapshot getLatest() {
+		if ((ready.get() & FRESH) != 0)
+			reading = ready.getAndSet(reading) & INDEX;
+
+		return snapshots[reading];
+	}
+}
@@ -0,0 +1,15 @@
+package me.kyle1320.platformer;
+
+/**	An enumeration of the ways a GamePanel can get frames onto the screen.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public enum RenderMode {
+	/**	A RepaintThread asks Swing to repaint the panel about 60 times a second, and Swing draws the frame on its event thread when it gets to it
+	*/
+	passive,
+
+	/**	A RenderThread draws each frame straight to a Canvas through a BufferStrategy and shows it, at a steady rate
+	*/
+	active;
+}
@@ -0,0 +1,55 @@
+package me.kyle1320.platformer;
+
+/**	Measures frame times on screen in each RenderMode, by opening a game window in each mode in turn, playing a level for a while, and printing frame time percentiles.
+	This needs a screen to draw on, so unlike the other benchmarks it cannot run headless.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class RenderModeBenchmark {
+	/**	Plays a level in a new window and times its frames.
+		@param mode The render mode to draw with
+		@param targetFps In active mode, the number of frames to draw each second, or 0 for as fast as they can be shown
+		@param level The level to play
+		@param seconds How long to time frames for, after a second of warming up
+		@return The frame timer, holding the frame times
+	*/
+	private static FrameTimer timeFrames(RenderMode mode, int targetFps, GameLevel level, int seconds) throws InterruptedException {
+		GameWindow window = new GameWindow(mode, targetFps);
+		GamePanel panel = window.getPanel();
+
+		window.display();
+		panel.goToLevel(level.getLevel());
+
+		Thread.sleep(1000);		// warm up
+		panel.getFrameTimer().reset();
+		Thread.sleep(seconds * 1000L);
+
+		panel.stop();
+		window.dispose();
+
+		return panel.getFrameTimer();
+	}
+
+	/**	<pre>Runs the benchmark and prints the results. Arguments are read as follows:
+	0:	String	The GameLevel name (default level1)
+	1:	int		The number of seconds to time each mode for (default 10)
+	2:	int		The number of frames to draw each second in active mode, or 0 for as fast as they can be shown (default 60)</pre>
+		@param args A String array of program arguments
+	*/
+	public static void main(String[] args) throws InterruptedException {
+		GameLevel level = args.length > 0 ? GameLevel.valueOf(args[0]) : GameLevel.level1;
+		int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		int targetFps = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+
+		FrameTimer passive = timeFrames(RenderMode.passive, targetFps, level, seconds);
+		FrameTimer active = timeFrames(RenderMode.active, targetFps, level, seconds);
+
+		System.out.printf("%s, %d seconds each%n", level.getLevel().getName(), seconds);
+		System.out.println("  passive (RepaintThread):  " + passive);
+		System.out.println("  active (" + (targetFps > 0 ? targetFps + " fps" : "unpaced") + "):  " + active);
+		System.out.printf("  p99 - p50:  passive %.2f ms, active %.2f ms%n",
+			(passive.getPercentile(99) - passive.getPercentile(50)) / 1e6, (active.getPercentile(99) - active.getPercentile(50)) / 1e6);
+
+		System.exit(0);		// the windows' event thread would otherwise keep running
+	}
+}
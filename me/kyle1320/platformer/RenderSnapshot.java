@@ -0,0 +1,191 @@
+package me.kyle1320.platformer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**	Everything an InGameView needs to draw one update of a game, other than the level's tiles: where each entity and the player were before and after the update,
+	which way they face and what they look like, the level's animation tick, and what the HUD shows.
+	A snapshot is filled in by the update thread and then handed to the drawing thread through a RenderBuffer, which never lets the two use the same snapshot at once,
+	so drawing reads it without locks while the game goes on updating.
+	Tiles are not copied; the drawing thread reads them from the level, and learns which have changed through a TileListener.
+	Snapshots are reused, and only make new arrays when a game has more entities than ever before.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class RenderSnapshot {
+	private static final int INITIAL_CAPACITY = 64;
+
+	private long animationTick;
+
+	// each entity and then the player, by index, so the player is drawn last
+	private int count;
+	private Sprite[] sprites;
+	private double[] prevX, prevY, x, y;
+	private double[] width, height;
+	private boolean[] facingRight;
+
+	// the HUD
+	private String message;
+	private int keys;		// the keys the player has, a bit for each KeyType by ordinal
+	private int points;
+
+	/**	Creates a new, empty RenderSnapshot.
+	*/
+	public RenderSnapshot() {
+		this.message = "";
+		allocate(INITIAL_CAPACITY);
+	}
+
+	/**	Makes new arrays for the given number of entities, dropping any that were captured.
+		@param capacity The number of entities, including the player
+	*/
+	private void allocate(int capacity) {
+		sprites = new Sprite[capacity];
+		prevX = new double[capacity];
+		prevY = new double[capacity];
+		x = new double[capacity];
+		y = new double[capacity];
+		width = new double[capacity];
+		height = new double[capacity];
+		facingRight = new boolean[capacity];
+	}
+
+	/**	Fills in this snapshot from the current state of a game. This should only be called from the thread updating the game.
+		@param game The game
+	*/
+	void capture(GameState game) {
+		ArrayList<Entity> entities = game.getEntities();
+		Player player = game.getPlayer();
+
+		if (entities.size() + 1 > sprites.length)
+			allocate(Math.max(sprites.length * 2, entities.size() + 1));
+		else
+			Arrays.fill(sprites, count, sprites.length, null);	// so sprites of entities since removed are not kept
+
+		count = 0;
+
+		for (int i=0; i < entities.size(); i++)		// indexed rather than an Iterator so that capturing creates no garbage
+			add(entities.get(i));
+
+		add(player);
+
+		animationTick = game.getLevel().getAnimationTick();
+
+		message = player.getMessage().getText();
+		points = player.getPoints();
+		keys = 0;
+
+		for (KeyType t : KeyType.values()) {
+			if (player.hasKey(t))
+				keys |= 1 << t.ordinal();
+		}
+	}
+
+	/**	Adds an entity to the end of this snapshot.
+		@param e The entity
+	*/
+	private void add(Entity e) {
+		sprites[count] = e.getSprite().getCurrentFrame();
+		prevX[count] = e.getX(0);
+		prevY[count] = e.getY(0);
+		x[count] = e.getX();
+		y[count] = e.getY();
+		width[count] = e.getWidth();
+		height[count] = e.getHeight();
+		facingRight[count] = e.isFacingRight();
+		count++;
+	}
+
+	/**	Returns the number of entities in this snapshot, including the player, which is the last.
+		@return The number of entities, or 0 if nothing has been captured
+	*/
+	public int getEntityCount() {
+		return count;
+	}
+
+	/**	Returns the sprite image an entity showed.
+		@param i The index of the entity
+		@return The sprite
+	*/
+	public Sprite getSprite(int i) {
+		return sprites[i];
+	}
+
+	/**	Returns an entity's x coordinate between its position before and after the update.
+		@param i The index of the entity
+		@param alpha How far between the previous position (0) and the current position (1) to return
+		@return The interpolated x coordinate
+	*/
+	public double getX(int i, double alpha) {
+		return prevX[i] + (x[i] - prevX[i]) * alpha;
+	}
+
+	/**	Returns an entity's y coordinate between its position before and after the update.
+		@param i The index of the entity
+		@param alpha How far between the previous position (0) and the current position (1) to return
+		@return The interpolated y coordinate
+	*/
+	public double getY(int i, double alpha) {
+		return prevY[i] + (y[i] - prevY[i]) * alpha;
+	}
+
+	/**	Returns an entity's width.
+		@param i The index of the entity
+		@return The width, in tiles
+	*/
+	public double getWidth(int i) {
+		return width[i];
+	}
+
+	/**	Returns an entity's height.
+		@param i The index of the entity
+		@return The height, in tiles
+	*/
+	public double getHeight(int i) {
+		return height[i];
+	}
+
+	/**	Returns true if an entity faced right.
+		@param i The index of the entity
+		@return True if the entity faced right, or false if it faced left
+	*/
+	public boolean isFacingRight(int i) {
+		return facingRight[i];
+	}
+
+	/**	Returns the index of the player, which the camera follows.
+		@return The index of the player
+	*/
+	public int getPlayerIndex() {
+		return count - 1;
+	}
+
+	/**	Returns the level's animation tick, which animated tiles are drawn at.
+		@return The animation tick
+	*/
+	public long getAnimationTick() {
+		return animationTick;
+	}
+
+	/**	Returns the text of the message being displayed to the player.
+		@return The text, or an empty string if there is no message
+	*/
+	public String getMessage() {
+		return message;
+	}
+
+	/**	Returns true if the player had the given key type.
+		@param type The KeyType to check
+		@return True if the player had the key
+	*/
+	public boolean hasKey(KeyType type) {
+		return (keys & (1 << type.ordinal())) != 0;
+	}
+
+	/**	Returns the player's score.
+		@return The player's score
+	*/
+	public int getPoints() {
+		return points;
+	}
+}
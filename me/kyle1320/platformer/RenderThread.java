@@ -0,0 +1,135 @@
+package me.kyle1320.platformer;
+
+import java.awt.Canvas;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+/**	A Runnable which runs in a Thread and draws a GamePanel's frames straight to a Canvas through a BufferStrategy.
+	Unlike a RepaintThread, which only asks Swing to repaint and cannot tell when or whether it does, each frame here is drawn and shown
+	before the next is started, so frames are never merged or held back behind other work on the event thread.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class RenderThread implements Runnable {
+	private static final int BUFFERS = 2;
+	private static final long SPIN_NANOS = 1000000L;	// how long before a frame is due to stop sleeping and yield instead, as sleeps are only accurate to about a millisecond
+
+	private Canvas canvas;
+	private GamePanel panel;
+	private long frameNanos;	// the time between frames to pace to, or 0 to draw frames as fast as they can be shown
+
+	private Thread thread;
+	private volatile boolean running;
+
+	/**	Creates a new RenderThread that will draw the given GamePanel on the given Canvas.
+		@param canvas The Canvas to draw on. It should ignore repaints, as every frame is drawn by this thread
+		@param panel The GamePanel to draw
+		@param targetFps The number of frames to draw each second, or 0 to draw frames as fast as they can be shown
+	*/
+	public RenderThread(Canvas canvas, GamePanel panel, int targetFps) {
+		this.canvas = canvas;
+		this.panel = panel;
+		this.frameNanos = targetFps > 0 ? 1000000000L / targetFps : 0;
+	}
+
+	/**	Creates a new Thread from this Runnable and starts it.
+	*/
+	public synchronized void start() {
+		running = true;
+		thread = new Thread(this, "Renderer");
+
+		thread.start();
+	}
+
+	/**	Stops the currently running thread if there is one.
+	*/
+	public synchronized void stop() {
+		if (thread == null)
+			return;
+
+		running = false;
+
+		try{
+			thread.join();
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**	The Runnable method that runs in a Thread. Draws frames until stopped, waiting until each is due when pacing.
+		A frame that is late by more than a whole frame does not make the next ones hurry to catch up; pacing starts again from it instead.
+	*/
+	public void run() {
+		long nextFrame = System.nanoTime();
+
+		while (running) {
+			if (!render()) {	// the canvas is not on the screen yet
+				try {
+					Thread.sleep(Updatable.UPDATE_DELAY);
+				} catch (InterruptedException e) {}
+
+				nextFrame = System.nanoTime();
+				continue;
+			}
+
+			if (frameNanos == 0) {
+				Thread.yield();
+				continue;
+			}
+
+			nextFrame += frameNanos;
+			long now = System.nanoTime();
+
+			if (nextFrame - now < -frameNanos) {
+				nextFrame = now;
+				continue;
+			}
+
+			try {
+				long sleep = (nextFrame - now - SPIN_NANOS) / 1000000;
+
+				if (sleep > 0)
+					Thread.sleep(sleep);
+			} catch (InterruptedException e) {}
+
+			while (System.nanoTime() < nextFrame)
+				Thread.yield();
+		}
+	}
+
+	/**	Draws one frame into the canvas's back buffer and shows it, drawing again if the buffer's contents are lost on the way.
+		@return True if a frame was shown, or false if the canvas cannot be drawn on yet
+	*/
+	private boolean render() {
+		int width = canvas.getWidth();
+		int height = canvas.getHeight();
+
+		if (!canvas.isDisplayable() || width <= 0 || height <= 0)
+			return false;
+
+		BufferStrategy strategy = canvas.getBufferStrategy();
+
+		if (strategy == null) {
+			canvas.createBufferStrategy(BUFFERS);
+			strategy = canvas.getBufferStrategy();
+		}
+
+		do {
+			do {
+				Graphics2D g = (Graphics2D)strategy.getDrawGraphics();
+
+				try {
+					panel.drawFrame(g, width, height);
+				} finally {
+					g.dispose();
+				}
+			} while (strategy.contentsRestored());
+
+			strategy.show();
+		} while (strategy.contentsLost());
+
+		Toolkit.getDefaultToolkit().sync();		// some window systems queue drawing, which would hold the frame back
+		return true;
+	}
+}
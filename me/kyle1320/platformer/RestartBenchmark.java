@@ -0,0 +1,51 @@
+package me.kyle1320.platformer;
+
+import java.io.File;
+
+/**	Compares restarting a large level by reading its file again with restarting it from a copy-on-write copy of the level as it was read.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class RestartBenchmark {
+	/**	<pre>Runs the benchmark and prints the results. Arguments are read as follows:
+	0:	int	The level width (default 10000)
+	1:	int	The level height (default 1000)
+	2:	int	The number of tiles each attempt changes (default 100)</pre>
+		@param args A String array of program arguments
+	*/
+	public static void main(String[] args) throws Exception {
+		System.setProperty("java.awt.headless", "true");
+
+		int width = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		int height = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+		int changes = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+
+		File file = File.createTempFile("level", ".txt");
+		file.deleteOnExit();
+		LevelLoadBenchmark.writeTextLevel(file, width, height);
+
+		long best = Long.MAX_VALUE;
+		for (int i=0; i < 3; i++) {
+			long start = System.nanoTime();
+			new Level(null, new LevelTokenizer(file));
+			best = Math.min(best, System.nanoTime() - start);
+		}
+
+		System.out.printf("%dx%d level, reading it again: %.2f ms%n", width, height, best / 1e6);
+
+		Level pristine = new Level(null, new LevelTokenizer(file));
+		int attempts = 1000;
+
+		// each attempt collects a spread of coins, as a run through the level would
+		long start = System.nanoTime();
+		for (int i=0; i < attempts; i++) {
+			Level level = new Level(pristine);
+
+			for (int j=0; j < changes; j++)
+				level.destroyTile((int)((long)j * width / changes), 5);
+		}
+		long copy = (System.nanoTime() - start) / attempts;
+
+		System.out.printf("copy-on-write restart and %d changed tiles: %.3f ms%n", changes, copy / 1e6);
+	}
+}
@@ -0,0 +1,134 @@
+package me.kyle1320.platformer;
+
+import java.awt.event.KeyEvent;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+
+/**	An InputSource that plays back a fixed script of key presses, one step per update. Used to drive games without a keyboard.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class ScriptedInput implements InputSource, Updatable {
+	private ArrayList<HashSet<Integer>> keys;
+	private ArrayList<Integer> lengths;
+
+	private int step;
+	private int stepTicks;
+
+	/**	Creates a new empty ScriptedInput, which never presses any keys.
+	*/
+	public ScriptedInput() {
+		this.keys = new ArrayList<HashSet<Integer>>();
+		this.lengths = new ArrayList<Integer>();
+
+		reset();
+	}
+
+	/**	<pre>Parses a ScriptedInput from the given String. Steps are separated by whitespace, and are read as follows:
+	keys:ticks
+keys is a list of key names joined by '+', or '-' for no keys. Key names are the names of the KeyEvent.VK_ constants without the prefix.
+ticks is the number of updates the keys are held for.
+For example "D:200 D+SPACE:30 -:100" walks right, jumps while walking right, then stands still.</pre>
+		@param script The script to parse
+		@return The ScriptedInput described by the script
+	*/
+	public static ScriptedInput parse(String script) {
+		ScriptedInput input = new ScriptedInput();
+		String trimmed = script.trim();
+
+		if (trimmed.length() == 0)
+			return input;
+
+		for (String step : trimmed.split("\\s+")) {
+			int split = step.lastIndexOf(':');
+
+			if (split < 0)
+				throw new IllegalArgumentException("Missing tick count in script step " + step);
+
+			String names = step.substring(0, split);
+			int ticks = Integer.parseInt(step.substring(split+1));
+			HashSet<Integer> pressed = new HashSet<Integer>();
+
+			if (!names.equals("-"))
+				for (String name : names.split("\\+"))
+					pressed.add(keyCode(name));
+
+			input.addStep(pressed, ticks);
+		}
+
+		return input;
+	}
+
+	/**	Returns the key code for the given KeyEvent constant name.
+		@param name The key name, without the VK_ prefix
+		@return The key code as defined in KeyEvent
+	*/
+	private static int keyCode(String name) {
+		try {
+			return KeyEvent.class.getField("VK_" + name.toUpperCase()).getInt(null);
+		} catch (Exception e) {
+			throw new IllegalArgumentException("Unknown key " + name);
+		}
+	}
+
+	/**	Adds a step to the end of this script.
+		@param pressed The key codes that are held during the step
+		@param ticks The number of updates the keys are held for
+	*/
+	public void addStep(HashSet<Integer> pressed, int ticks) {
+		if (ticks <= 0)
+			return;
+
+		keys.add(pressed);
+		lengths.add(ticks);
+	}
+
+	/**	Advances this script by one update.
+	*/
+	public void update() {
+		if (step >= keys.size())
+			return;
+
+		stepTicks++;
+
+		if (stepTicks >= lengths.get(step)) {
+			stepTicks = 0;
+			step++;
+		}
+	}
+
+	/**	Rewinds this script to its first step.
+	*/
+	public void reset() {
+		step = 0;
+		stepTicks = 0;
+	}
+
+	/**	Returns true if the current step of this script holds the given key.
+		@param keyCode The key code of the test key as defined in KeyEvent
+		@return True if the given key is pressed
+	*/
+	public boolean isKeyPressed(int keyCode) {
+		return step < keys.size() && keys.get(step).contains(keyCode);
+	}
+
+	/**	Returns true if every step in this script has been played.
+		@return True if every step in this script has been played
+	*/
+	public boolean isFinished() {
+		return step >= keys.size();
+	}
+
+	/**	Returns the total number of updates in this script.
+		@return The total number of updates in this script
+	*/
+	public long getLength() {
+		long length = 0;
+
+		for (int ticks : lengths)
+			length += ticks;
+
+		return length;
+	}
+}
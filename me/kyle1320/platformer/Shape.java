@@ -17,6 +17,18 @@ public interface Shape {
 	*/
 	public Collision collideWith(double x, double y, double mx, double my, Shape other, double sx, double sy);
 
+	/**	Collides this shape with another, storing the result in an existing Collision rather than creating one.
+		@param x The lower x coordinate of this shape
+		@param y The lower y coordinate of this shape
+		@param mx The x movement of this shape
+		@param my the y movement of this shape
+		@param other The other shape being collided with
+		@param sx The lower x coordinate of the other shape
+		@param sy The lower y coordinate of the other shape
+		@param result The Collision to overwrite with which sides of this shape collided with the other shape and how much this shape was moved
+	*/
+	public void collideWith(double x, double y, double mx, double my, Shape other, double sx, double sy, Collision result);
+
 	/**	Returns the width of this shape.
 		@return The width of this shape
 	*/
@@ -37,6 +37,25 @@ public class ShapeRectangle implements Shape {
 		@return The Collision representing which sides of this rectangle collided with the other shape and how much this rectangle was moved
 	*/
 	public Collision collideWith(double x, double y, double mx, double my, Shape other, double sx, double sy) {
+		Collision result = new Collision();
+		collideWith(x, y, mx, my, other, sx, sy, result);
+
+		return result;
+	}
+
+	/**	Collides this rectangle with another shape, storing the result in an existing Collision rather than creating one.
+		@param x The lower x coordinate of this rectangle
+		@param y The lower y coordinate of this rectangle
+		@param mx The x movement of this rectangle
+		@param my the y movement of this rectangle
+		@param other The other shape being collided with
+		@param sx The lower x coordinate of the other shape
+		@param sy The lower y coordinate of the other shape
+		@param result The Collision to overwrite with which sides of this rectangle collided with the other shape and how much this rectangle was moved
+	*/
+	public void collideWith(double x, double y, double mx, double my, Shape other, double sx, double sy, Collision result) {
+		result.reset();
+
 		if (other instanceof ShapeRectangle) {
 			double error = 1.0e-12;
 
@@ -59,11 +78,11 @@ public class ShapeRectangle implements Shape {
 			double correctx = 0.0;
 			double correcty = 0.0;
 
-			CollisionAxis collision = new CollisionAxis();
+			CollisionAxis collision = result.collision;
 
 			if ((thisMinX <= otherMinX && thisMaxX <= otherMinX) || (thisMinY <= otherMinY && thisMaxY <= otherMinY) ||
 				(thisMaxX >= otherMaxX && thisMinX >= otherMaxX) || (thisMaxY >= otherMaxY && thisMinY >= otherMaxY))
-				return new Collision();
+				return;
 
 			if (Math.abs(overlapX) < Math.abs(overlapY)) {
 				if (Math.signum(mx) != Math.signum(overlapX)) {
@@ -89,7 +108,8 @@ public class ShapeRectangle implements Shape {
 				correcty = overlapY;
 			}*/
 
-			return new Collision(correctx, correcty, collision);
+			result.x = correctx;
+			result.y = correcty;
 		}/*else if (other instanceof ShapeSlope) {
 			ShapeSlope otherSlope = (ShapeSlope)other;
 			boolean slopex = otherSlope.getSlopeX();
@@ -161,8 +181,6 @@ public class ShapeRectangle implements Shape {
 
 			return new Collision(correctx, correcty, collision);
 		}*/
-
-		return new Collision();
 	}
 
 	/**	Returns the width of this rectangle.
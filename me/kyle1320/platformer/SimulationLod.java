@@ -0,0 +1,80 @@
+package me.kyle1320.platformer;
+
+/**	A simulation level of detail, which decides how often the entities of a game are updated by how far they are from the camera.
+	Entities within a square radius of the camera are updated every update. Entities further away sleep for a few updates at a time,
+	costing almost nothing, and are then brought up to date using Entity.catchUp and checked again. An entity coming back within the
+	radius may sleep for up to one interval more, so the radius should be more than half the view plus how far the player can move in one interval.
+	The camera follows the player but stops at the edges of the level, where the view reaches further from the player than half its width,
+	so the square is kept inside the level the same way rather than being centered on the player.
+	Views can be any size, so when the game is told the size of its view, the square grows as needed to cover half the view plus one interval of movement.
+	Tiles need no level of detail: a level's own update only advances its animation, animated tiles show the frame for the current
+	animation tick whenever they are drawn, and tile interactions are only run around the player.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class SimulationLod {
+	public static final double DEFAULT_RADIUS = 24;	// a little more than half the widest view, in tiles
+	public static final int DEFAULT_INTERVAL = 10;
+
+	// tiles a second, faster than the player walks or a cloud drifts, for how far the camera and entities can move while an entity sleeps
+	public static final double MAX_SPEED = 10;
+
+	/**	A level of detail that updates every entity every update, however far away it is.
+	*/
+	public static final SimulationLod FULL = new SimulationLod(Double.POSITIVE_INFINITY, 1);
+
+	/**	The level of detail games use unless given another.
+	*/
+	public static final SimulationLod DEFAULT = new SimulationLod(DEFAULT_RADIUS, DEFAULT_INTERVAL);
+
+	private final double radius;
+	private final int interval;
+
+	/**	Creates a new SimulationLod.
+		@param radius How far from the camera, in tiles, entities are updated every update, for views small enough. Larger views widen it as needed
+		@param interval The most updates an entity outside the radius sleeps before it is brought up to date
+	*/
+	public SimulationLod(double radius, int interval) {
+		if (!(radius >= 0))
+			throw new IllegalArgumentException("Radius must not be negative: " + radius);
+		if (interval < 1)
+			throw new IllegalArgumentException("Interval must be at least 1: " + interval);
+
+		this.radius = radius;
+		this.interval = interval;
+	}
+
+	/**	Returns true if an entity is close enough to the camera to be updated every update. The square is centered on the player, but moved
+		to stay inside the left, right and bottom edges of the level, as InGameView moves its view, so that it covers the whole view wherever the player is.
+		For a view too large for the radius, the square is widened or heightened to half the view plus as far as anything moves in one interval.
+		@param entity The entity
+		@param player The player
+		@param viewWidth The width of the view, in tiles, or 0 if the game is not being drawn
+		@param viewHeight The height of the view, in tiles, or 0 if the game is not being drawn
+		@return True if the entity's center is within the square on both axes
+	*/
+	public boolean isNear(Entity entity, Player player, double viewWidth, double viewHeight) {
+		double margin = interval * (Updatable.UPDATE_DELAY / 1000.0) * MAX_SPEED;
+		double rx = Math.max(radius, viewWidth/2 + margin);
+		double ry = Math.max(radius, viewHeight/2 + margin);
+
+		double x = Math.max(rx, Math.min(player.getGame().getLevel().getWidth() - rx, player.getMidX()));
+		double y = Math.max(ry, player.getMidY());
+
+		return Math.abs(entity.getMidX() - x) <= rx && Math.abs(entity.getMidY() - y) <= ry;
+	}
+
+	/**	Returns how far from the camera entities are updated every update.
+		@return The radius, in tiles
+	*/
+	public double getRadius() {
+		return radius;
+	}
+
+	/**	Returns the most updates an entity outside the radius sleeps before it is brought up to date.
+		@return The interval, in updates
+	*/
+	public int getInterval() {
+		return interval;
+	}
+}
@@ -0,0 +1,70 @@
+package me.kyle1320.platformer;
+
+import java.io.File;
+
+/**	Measures the cost of an update on a wide level crowded with clouds, updating every entity every update against using a simulation level of detail.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class SimulationLodBenchmark {
+	/**	Plays a level crowded with clouds and returns the time taken.
+		@param pristine The level to play a copy of
+		@param clouds The number of clouds to start with
+		@param ticks The number of updates to time
+		@param lod The simulation level of detail to use
+		@return The time taken for the timed updates, in nanoseconds
+	*/
+	private static long play(Level pristine, int clouds, int ticks, SimulationLod lod) {
+		GameState game = new GameState(new Level(pristine), new ScriptedInput(), 1);
+		game.setSimulationLod(lod);
+
+		for (int i=0; i < clouds; i++) {
+			Cloud cloud = new Cloud(game);
+			cloud.setX(game.getRandom().nextDouble() * pristine.getWidth());	// spread out over the whole level rather than at its edges
+			game.addEntity(cloud);
+		}
+
+		for (int i=0; i < ticks / 10; i++)	// warm up
+			game.update();
+
+		long start = System.nanoTime();
+		for (int i=0; i < ticks; i++)
+			game.update();
+
+		return System.nanoTime() - start;
+	}
+
+	/**	<pre>Runs the benchmark and prints the results. Arguments are read as follows:
+	0:	int	The level width (default 5000)
+	1:	int	The level height (default 100)
+	2:	int	The number of clouds (default 2500, as many as the game allows on the default width)
+	3:	int	The number of updates to time (default 5000)</pre>
+		@param args A String array of program arguments
+	*/
+	public static void main(String[] args) throws Exception {
+		System.setProperty("java.awt.headless", "true");
+
+		int width = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+		int height = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+		int clouds = args.length > 2 ? Integer.parseInt(args[2]) : 2500;
+		int ticks = args.length > 3 ? Integer.parseInt(args[3]) : 5000;
+
+		File file = File.createTempFile("level", ".txt");
+		file.deleteOnExit();
+		LevelLoadBenchmark.writeTextLevel(file, width, height);
+
+		Level pristine = new Level(null, new LevelTokenizer(file));
+
+		// alternate the two, so neither gets all of the warm-up
+		long full = Long.MAX_VALUE, lod = Long.MAX_VALUE;
+		for (int i=0; i < 3; i++) {
+			full = Math.min(full, play(pristine, clouds, ticks, SimulationLod.FULL));
+			lod = Math.min(lod, play(pristine, clouds, ticks, SimulationLod.DEFAULT));
+		}
+
+		System.out.printf("%dx%d level, %d clouds%n", width, height, clouds);
+		System.out.printf("  every entity every update: %.2f us/update%n", full / 1e3 / ticks);
+		System.out.printf("  level of detail (radius %.0f, every %d updates): %.2f us/update (%.1fx faster)%n",
+			SimulationLod.DEFAULT.getRadius(), SimulationLod.DEFAULT.getInterval(), lod / 1e3 / ticks, (double)full / lod);
+	}
+}
@@ -0,0 +1,85 @@
+package me.kyle1320.platformer;
+
+/**	The outcome of running a game without a display.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public final class SimulationResult {
+	private final String levelName;
+	private final boolean finished;
+	private final int points;
+	private final long time;
+	private final long ticks;
+	private final long nanos;
+
+	/**	Creates a new SimulationResult with the given values.
+		@param levelName The name of the level that was played
+		@param finished True if the level was completed
+		@param points The player's score at the end of the run
+		@param time The game time played, in milliseconds
+		@param ticks The number of updates that were run
+		@param nanos The real time the updates took, in nanoseconds
+	*/
+	public SimulationResult(String levelName, boolean finished, int points, long time, long ticks, long nanos) {
+		this.levelName = levelName;
+		this.finished = finished;
+		this.points = points;
+		this.time = time;
+		this.ticks = ticks;
+		this.nanos = nanos;
+	}
+
+	/**	Returns the name of the level that was played.
+		@return The name of the level that was played
+	*/
+	public String getLevelName() {
+		return levelName;
+	}
+
+	/**	Returns true if the level was completed.
+		@return True if the level was completed
+	*/
+	public boolean isFinished() {
+		return finished;
+	}
+
+	/**	Returns the player's score at the end of the run.
+		@return The player's score at the end of the run
+	*/
+	public int getPoints() {
+		return points;
+	}
+
+	/**	Returns the game time played.
+		@return The game time played, in milliseconds
+	*/
+	public long getTime() {
+		return time;
+	}
+
+	/**	Returns the number of updates that were run.
+		@return The number of updates that were run
+	*/
+	public long getTicks() {
+		return ticks;
+	}
+
+	/**	Returns the real time the updates took.
+		@return The real time the updates took, in nanoseconds
+	*/
+	public long getNanos() {
+		return nanos;
+	}
+
+	/**	Returns the number of updates run per second of real time.
+		@return The number of updates run per second of real time
+	*/
+	public double getTicksPerSecond() {
+		return nanos == 0 ? 0 : ticks * 1.0e9 / nanos;
+	}
+
+	public String toString() {
+		return String.format("%s: %s, %d points, %.2fs game time, %d ticks at %.0f ticks/s",
+			levelName, finished ? "finished" : "not finished", points, time / 1000.0, ticks, getTicksPerSecond());
+	}
+}
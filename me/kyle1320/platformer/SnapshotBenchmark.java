@@ -0,0 +1,47 @@
+package me.kyle1320.platformer;
+
+/**	Measures how long it takes to snapshot and restore a game partway through a level, and how large the snapshots are.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class SnapshotBenchmark {
+	/**	<pre>Runs the benchmark and prints the results. Arguments are read as follows:
+	0:	String	The GameLevel name (default tutorial)
+	1:	int		The number of updates to play before measuring (default 1000)
+	2:	String	The input script, see ScriptedInput.parse (default walks and jumps to the right)</pre>
+		@param args A String array of program arguments
+	*/
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+
+		GameLevel level = args.length > 0 ? GameLevel.valueOf(args[0]) : GameLevel.tutorial;
+		int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+		ScriptedInput input = ScriptedInput.parse(args.length > 2 ? args[2] : "D:300 D+SPACE:40 D:200 SPACE:20 D+W:100 D+SPACE:60 D:400");
+
+		GameState game = new GameState(level.getLevel(), input);
+		CheckpointRing ring = new CheckpointRing(60);
+
+		for (int i=0; i < ticks; i++) {
+			if (i % 10 == 0)
+				ring.checkpoint(game);	// a checkpoint every 10 updates, as a rewind feature might keep
+
+			game.update();
+			input.update();
+		}
+
+		int runs = 20000;
+		GameSnapshot snapshot = null;
+
+		long start = System.nanoTime();
+		for (int i=0; i < runs; i++)
+			snapshot = game.snapshot();
+		long snap = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int i=0; i < runs; i++)
+			game.restore(ring.get(i % ring.size()));
+		long restore = System.nanoTime() - start;
+
+		System.out.printf("%s after %d updates: snapshot %.1f us, restore %.1f us, %d bytes%n", level, ticks, snap / 1e3 / runs, restore / 1e3 / runs, snapshot.getSize());
+	}
+}
@@ -0,0 +1,75 @@
+package me.kyle1320.platformer;
+
+import java.nio.ByteBuffer;
+
+/**	Measures the time to draw frames of a sparse level, one that is mostly open sky, while scrolling across it, drawing tile by tile and from a TileChunkCache.
+	Only tiles that can be seen are drawn, so the frame time should follow the number of visible tiles on screen rather than the size of the screen.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class SparseRenderBenchmark {
+	/**	Builds a wide level that is mostly air: a thin floor with gaps, a few floating platforms, and a coin here and there.
+		@param width The level width
+		@param height The level height
+		@return The level data in the text level format
+	*/
+	private static String buildLevel(int width, int height) {
+		StringBuilder out = new StringBuilder(width * height * 3);
+		out.append(width).append(' ').append(height).append('\n');
+
+		for (int y=height-1; y >= 0; y--) {
+			for (int x=0; x < width; x++) {
+				Material m = Material.air;
+
+				if (y == 0 && x % 40 < 34)
+					m = Material.grassMid;
+				else if (y % 6 == 4 && (x + y*7) % 30 < 4)
+					m = Material.grassHalfMid;
+				else if (y % 6 == 5 && (x + y*7) % 30 == 1)
+					m = Material.coinGold;
+
+				out.append(m.ordinal()).append(' ');
+			}
+			out.append('\n');
+		}
+
+		out.append("0 5 3\n");	// background and player start
+
+		return out.toString();
+	}
+
+	/**	<pre>Runs the benchmark and prints the results. Arguments are read as follows:
+	0:	int		The number of frames to draw (default 2000)
+	1:	int		The frame width (default 1280)
+	2:	int		The frame height (default 720)</pre>
+		@param args A String array of program arguments
+	*/
+	public static void main(String[] args) throws Exception {
+		System.setProperty("java.awt.headless", "true");
+
+		int frames = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		int width = args.length > 1 ? Integer.parseInt(args[1]) : 1280;
+		int height = args.length > 2 ? Integer.parseInt(args[2]) : 720;
+
+		String data = buildLevel(2000, 48);
+		Level level = new Level(null, new LevelTokenizer(ByteBuffer.wrap(data.getBytes())));
+		GameState game = new GameState(level, new ScriptedInput());
+
+		InGameView tiles = new InGameView(null);
+		tiles.setCacheTiles(false);
+		tiles.loadGame(game);
+
+		InGameView chunks = new InGameView(null);
+		chunks.loadGame(game);
+
+		TileRenderBenchmark.drawFrames(tiles, frames / 10, width, height);	// warm up
+		TileRenderBenchmark.drawFrames(chunks, frames / 10, width, height);
+
+		long[] tile = TileRenderBenchmark.drawFrames(tiles, frames, width, height);
+		long[] chunk = TileRenderBenchmark.drawFrames(chunks, frames, width, height);
+
+		System.out.printf("sparse level, %d frames at %dx%d%n", frames, width, height);
+		System.out.printf("  tile by tile:  %.2f ms/frame, %.0f tile images/frame%n", tile[0] / 1e6 / frames, (double)tile[1] / frames);
+		System.out.printf("  chunk cache:   %.2f ms/frame, %.0f tile images/frame%n", chunk[0] / 1e6 / frames, (double)chunk[1] / frames);
+	}
+}
@@ -56,4 +56,21 @@ public interface Sprite extends Updatable {
 	*/
 	public void reset();
 
+	/**	Returns the image the sprite shows after the given number of updates from its default state, without changing the sprite.
+		This lets many tiles share one sprite and one clock.
+		@param tick The number of updates since the sprite's default state
+		@return The Sprite to draw for that update
+	*/
+	public Sprite getFrame(long tick);
+
+	/**	Returns the image the sprite is showing now, which does not change when the sprite is updated.
+		@return The Sprite to draw for the sprite's current state
+	*/
+	public Sprite getCurrentFrame();
+
+	/**	Returns true if the sprite changes when it is updated.
+		@return True if the sprite changes when it is updated
+	*/
+	public boolean isAnimated();
+
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package me.kyle1320.platformer;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**	Keeps copies of a sprite's image already scaled to the sizes it is drawn at, and already flipped where it is drawn reversed, in the pixel format of the screen.
+	A sprite cut from a sheet is a subimage in whatever format the file was read in, so drawing it scales and converts every pixel every time;
+	drawing a copy made here is a plain 1:1 copy, which the screen can often do in hardware.
+	Only a few copies are kept for each sprite, as most sprites are only ever drawn at one or two sizes, such as the size of a tile, either way round.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class SpriteImageCache {
+	static final int MAX_COPIES = 8;		// copies kept for each sprite; the oldest is thrown away to make room
+
+	private BufferedImage source;
+	private Copy[] copies;
+	private int next;		// the index of the copy to replace next, once every slot is used
+
+	/**	A copy of the image made for one way of drawing it.
+	*/
+	private static class Copy {
+		GraphicsConfiguration config;
+		Object interpolation;	// the interpolation hint of the Graphics2D the copy was made for
+		int width, height;
+		boolean reversed;
+		BufferedImage image;
+	}
+
+	/**	Creates a new, empty SpriteImageCache.
+		@param source The image to make copies of
+	*/
+	public SpriteImageCache(BufferedImage source) {
+		this.source = source;
+		this.copies = new Copy[MAX_COPIES];
+	}
+
+	/**	Draws the image at the given place and size, from a copy made for that size.
+		If the Graphics2D does more than move what is drawn, such as scaling or rotating it, a copy would not look the same as drawing the image directly, so nothing is drawn.
+		@param g The Graphics2D object to draw on
+		@param x The x coordinate of the left corner of the rectangle to draw on
+		@param y The y coordinate of the upper corner of the rectangle to draw on
+		@param width The width to draw the image
+		@param height The height to draw the image
+		@param reversed True if the image should be drawn with its horizontal axis flipped
+		@return True if the image was drawn, or false if the caller should draw it directly
+	*/
+	public boolean draw(Graphics2D g, int x, int y, int width, int height, boolean reversed) {
+		if (width <= 0 || height <= 0 || (g.getTransform().getType() & ~AffineTransform.TYPE_TRANSLATION) != 0)
+			return false;
+
+		g.drawImage(getCopy(g.getDeviceConfiguration(), g.getRenderingHint(RenderingHints.KEY_INTERPOLATION), width, height, reversed), x, y, null);
+		return true;
+	}
+
+	/**	Returns the copy of the image for a way of drawing it, making it first if there is none.
+		Sprites are drawn by both the game and the editor's thread, so finding and making copies is synchronized.
+		@param config The configuration of the screen the copy will be drawn on
+		@param interpolation The interpolation hint to scale the copy with
+		@param width The width of the copy
+		@param height The height of the copy
+		@param reversed True if the copy should be flipped horizontally
+		@return The copy
+	*/
+	private synchronized BufferedImage getCopy(GraphicsConfiguration config, Object interpolation, int width, int height, boolean reversed) {
+		for (Copy copy : copies) {
+			if (copy != null && copy.width == width && copy.height == height && copy.reversed == reversed
+					&& copy.interpolation == interpolation && copy.config == config)
+				return copy.image;
+		}
+
+		Copy copy = copies[next];
+
+		if (copy == null) {
+			copy = new Copy();
+			copies[next] = copy;
+		} else {
+			copy.image.flush();
+		}
+
+		next = (next + 1) % copies.length;
+
+		copy.config = config;
+		copy.interpolation = interpolation;
+		copy.width = width;
+		copy.height = height;
+		copy.reversed = reversed;
+		copy.image = config.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+
+		Graphics2D g = copy.image.createGraphics();
+
+		if (interpolation != null)
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+
+		if (reversed)
+			g.drawImage(source, width, 0, -width, height, null);
+		else
+			g.drawImage(source, 0, 0, width, height, null);
+
+		g.dispose();
+
+		return copy.image;
+	}
+}
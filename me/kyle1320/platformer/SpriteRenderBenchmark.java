@@ -0,0 +1,74 @@
+package me.kyle1320.platformer;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**	Measures the time to draw every GameSprite at the sizes the game draws sprites at, scaling the sprite's image on every draw against drawing copies from a SpriteImageCache.
+	Sprites are drawn into an image without a window, so the times are for software drawing.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class SpriteRenderBenchmark {
+	// the sizes sprites are drawn at: a tile in the game, a tile in the editor, and an element of the HUD
+	private static final int[] SIZES = {70, 50, 32};
+
+	/**	Draws every sprite at every size, forwards and reversed, a number of times.
+		@param g The Graphics2D object to draw on
+		@param rounds The number of times to draw every sprite
+		@param cached True to draw through the sprites, or false to scale their images directly as the sprites used to
+		@return The time taken, in nanoseconds
+	*/
+	private static long drawSprites(Graphics2D g, int rounds, boolean cached) {
+		GameSprite[] sprites = GameSprite.values();
+		long start = System.nanoTime();
+
+		for (int r=0; r < rounds; r++) {
+			for (GameSprite s : sprites) {
+				Sprite sprite = s.getSprite();
+
+				for (int size : SIZES) {
+					for (int i=0; i < 2; i++) {
+						boolean reversed = i == 1;
+
+						if (cached) {
+							sprite.draw(g, 10, 10, size, size, reversed);
+						} else if (reversed) {
+							g.drawImage(sprite.getImage(), 10 + size, 10, -size, size, null);
+						} else {
+							g.drawImage(sprite.getImage(), 10, 10, size, size, null);
+						}
+					}
+				}
+			}
+		}
+
+		return System.nanoTime() - start;
+	}
+
+	/**	<pre>Runs the benchmark and prints the results. Arguments are read as follows:
+	0:	int		The number of times to draw every sprite (default 500)</pre>
+		@param args A String array of program arguments
+	*/
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+
+		int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+
+		BufferedImage image = new BufferedImage(128, 128, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = image.createGraphics();
+
+		drawSprites(g, rounds / 10, false);	// warm up
+		drawSprites(g, rounds / 10, true);
+
+		long scaled = drawSprites(g, rounds, false);
+		long cached = drawSprites(g, rounds, true);
+
+		g.dispose();
+
+		long draws = (long) rounds * GameSprite.values().length * SIZES.length * 2;
+
+		System.out.printf("%d sprites at %d sizes, forwards and reversed, %d times%n", GameSprite.values().length, SIZES.length, rounds);
+		System.out.printf("  scaled each draw:  %.0f ns/draw%n", (double)scaled / draws);
+		System.out.printf("  image cache:       %.0f ns/draw (%.1fx faster)%n", (double)cached / draws, (double)scaled / cached);
+	}
+}
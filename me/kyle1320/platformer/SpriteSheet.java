@@ -34,6 +34,10 @@ public enum SpriteSheet {
 		try {
 			BufferedImage read = ImageIO.read(SpriteSheet.class.getResourceAsStream(name));
 
+			// there is no screen to be compatible with when running headless
+			if (GraphicsEnvironment.isHeadless())
+				return read;
+
 			GraphicsEnvironment env = GraphicsEnvironment.getLocalGraphicsEnvironment();
 			GraphicsDevice device = env.getDefaultScreenDevice();
 			GraphicsConfiguration config = device.getDefaultConfiguration();
@@ -6,12 +6,14 @@ import java.awt.Graphics2D;
 public class StaticSprite implements Sprite {
 	private BufferedImage image;
 	private Shape shape;
+	private SpriteImageCache cache;	// the image at the sizes it is drawn at
 
 	/**	Creates a StaticSprite with an empty image, a shape of SpriteShape.fullSquare, and a width and height of 1.
 	*/
 	public StaticSprite() {
 		this.image = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
 		this.shape = SpriteShape.fullSquare.getShape();
+		this.cache = new SpriteImageCache(image);
 	}
 
 	/**	Creates a StaticSprite from the given sprite sheet. The full sheet is used, and the shape is SpriteShape.fullSquare.
@@ -20,6 +22,7 @@ public class StaticSprite implements Sprite {
 	public StaticSprite(SpriteSheet sheet) {
 		this.image = sheet.getImage();
 		this.shape = SpriteShape.fullSquare.getShape();
+		this.cache = new SpriteImageCache(image);
 	}
 
 	/**	Creates a StaticSprite from the given sheet and coordinates to cut an image from. The shape is SpriteShape.fullSquare.
@@ -32,6 +35,7 @@ public class StaticSprite implements Sprite {
 	public StaticSprite(SpriteSheet sheet, int x, int y, int width, int height) {
 		this.image = sheet.getSubImage(x, y, width, height);
 		this.shape = SpriteShape.fullSquare.getShape();
+		this.cache = new SpriteImageCache(image);
 	}
 
 	/**	Creates a StaticSprite from the given shape, sheet, and coordinates to cut an image from.
@@ -45,6 +49,7 @@ public class StaticSprite implements Sprite {
 	public StaticSprite(SpriteSheet sheet, int x, int y, int width, int height, SpriteShape shape) {
 		this.image = sheet.getSubImage(x, y, width, height);
 		this.shape = shape.getShape();
+		this.cache = new SpriteImageCache(image);
 	}
 
 	/*public StaticSprite(SpriteSheet sheet, int x, int y, int width, int height, int padding_top, int padding_bottom, int padding_left, int padding_right) {
@@ -55,8 +60,18 @@ public class StaticSprite implements Sprite {
 	}*/
 
 	public StaticSprite(BufferedImage image, Shape shape) {
+		this(image, shape, new SpriteImageCache(image));
+	}
+
+	/**	Creates a StaticSprite from the given image and shape, sharing copies of the image with another sprite.
+		@param image The image of this sprite
+		@param shape The shape of this sprite
+		@param cache The copies of the image at the sizes it is drawn at
+	*/
+	private StaticSprite(BufferedImage image, Shape shape, SpriteImageCache cache) {
 		this.image = image;
 		this.shape = shape;
+		this.cache = cache;
 	}
 
 	/**	Doesn't do anything.
@@ -85,6 +100,9 @@ public class StaticSprite implements Sprite {
 	*/
 	public void draw(Graphics2D g, int x, int y, int width, int height, boolean reversed) {
 		if (image != null) {
+			if (cache.draw(g, x, y, width, height, reversed))
+				return;
+
 			if (reversed)
 				g.drawImage(image, x+width, y, -width, height, null);
 			else
@@ -126,7 +144,7 @@ public class StaticSprite implements Sprite {
 		@return A copy of this sprite
 	*/
 	public Sprite copy() {
-		return new StaticSprite(image, shape);
+		return new StaticSprite(image, shape, cache);
 	}
 
 	/**	Resets this sprite to its default state.
@@ -134,4 +152,26 @@ public class StaticSprite implements Sprite {
 	public void reset() {
 
 	}
+
+	/**	Returns this sprite, since it never changes.
+		@param tick The number of updates since this sprite's default state
+		@return This sprite
+	*/
+	public Sprite getFrame(long tick) {
+		return this;
+	}
+
+	/**	Returns this sprite, since it never changes.
+		@return This sprite
+	*/
+	public Sprite getCurrentFrame() {
+		return this;
+	}
+
+	/**	Returns false, since this sprite never changes.
+		@return False
+	*/
+	public boolean isAnimated() {
+		return false;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package me.kyle1320.platformer;
+
+/**	Represents the first contact of a moving shape with another shape, found by sweeping it along its movement.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public final class Sweep {
+	public double time;
+	public CollisionAxis collision;
+
+	// where the shape touched was. Copied rather than keeping the shape, so a shape that is reused for each candidate, such as a scratch Tile, can move on
+	public boolean contact;
+	public double otherX, otherY;
+
+	/**	Creates a new Sweep with no contact.
+	*/
+	public Sweep() {
+		this.time = 1.0;
+		this.collision = new CollisionAxis();
+		this.contact = false;
+	}
+
+	/**	Resets this Sweep to no contact, so that it can be reused.
+	*/
+	public void reset() {
+		this.time = 1.0;
+		this.collision.clear();
+		this.contact = false;
+	}
+
+	/**	Returns whether or not a contact was found.
+		@return True if the moving shape touched another shape before the end of its movement
+	*/
+	public boolean hit() {
+		return contact;
+	}
+}
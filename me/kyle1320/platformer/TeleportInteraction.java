@@ -29,4 +29,13 @@ If both the x and y coordinates are 0 or are not specified, the player is not te
 			player.setY(tile.getTileY()+dy);
 		}
 	}
+
+	/**	Returns true if the given tile's data holds a teleport destination.
+		@param tile The tile this interaction belongs to
+		@return True if the player would be teleported
+	*/
+	public boolean canAct(Tile tile) {
+		TileData data = tile.getData();
+		return data.getInt(1, 0) != 0 || data.getInt(2, 0) != 0;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package me.kyle1320.platformer;
+
+import java.io.File;
+import java.util.Scanner;
+
+/**	Compares reading a large level in the text level format with Scanner, as Level used to, against reading it with LevelTokenizer.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class TextLevelBenchmark {
+	/**	Reads a level in the text level format with Scanner, building the level the same way Level does.
+		@param file The file to read
+		@return The level read
+	*/
+	private static Level readWithScanner(File file) throws Exception {
+		Material[] materials = Material.values();
+		Scanner in = new Scanner(file);
+
+		try {
+			int width = in.nextInt();
+			int height = in.nextInt();
+			short[] ids = new short[width * height];
+
+			for (int y=height-1; y >= 0; y--) {
+				for (int x=0; x < width; x++)
+					ids[y*width + x] = (short)in.nextInt();
+			}
+
+			Background background = Background.values()[in.nextInt()];
+			double playerStartX = in.nextDouble();
+			double playerStartY = in.nextDouble();
+
+			Level level = new Level(null, width, height, background, playerStartX, playerStartY, 0);
+
+			for (int y=0; y < height; y++) {
+				for (int x=0; x < width; x++)
+					level.setTile(x, y, materials[ids[y*width + x]], TileData.EMPTY);
+			}
+
+			while (in.hasNext()) {
+				int x = in.nextInt();
+				int y = in.nextInt();
+
+				TileData data = TileData.create(in.nextLine().trim());
+				data.compile();
+
+				level.setTile(x, y, level.getMaterialAt(x, y), data);
+			}
+
+			return level;
+		} finally {
+			in.close();
+		}
+	}
+
+	/**	Returns true if two tile data have the same entries.
+		@param a The first tile data
+		@param b The second tile data
+		@return True if the entries are equal
+	*/
+	private static boolean sameData(TileData a, TileData b) {
+		if (a.getSize() != b.getSize())
+			return false;
+
+		for (int i=0; i < a.getSize(); i++) {
+			if (!a.getString(i).equals(b.getString(i)))
+				return false;
+		}
+
+		return true;
+	}
+
+	/**	Reads a level a number of times in the given way and prints the fastest time.
+		@param name The name of the reader, to print
+		@param file The file to read
+		@param scanner True to read with Scanner, false to read with LevelTokenizer
+		@param runs The number of times to read the level
+		@return The fastest time, in nanoseconds
+	*/
+	private static long time(String name, File file, boolean scanner, int runs) throws Exception {
+		long best = Long.MAX_VALUE;
+
+		for (int i=0; i < runs; i++) {
+			long start = System.nanoTime();
+
+			if (scanner)
+				readWithScanner(file);
+			else
+				new Level(null, new LevelTokenizer(file));
+
+			best = Math.min(best, System.nanoTime() - start);
+		}
+
+		System.out.printf("%s: %.1f ms%n", name, best / 1e6);
+
+		return best;
+	}
+
+	/**	<pre>Runs the benchmark and prints the results. Arguments are read as follows:
+	0:	int	The level width (default 10000)
+	1:	int	The level height (default 1000)
+	2:	int	The number of times to read the level with each reader (default 3)</pre>
+		@param args A String array of program arguments
+	*/
+	public static void main(String[] args) throws Exception {
+		System.setProperty("java.awt.headless", "true");
+
+		int width = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		int height = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+		int runs = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+		File file = File.createTempFile("level", ".txt");
+		file.deleteOnExit();
+
+		LevelLoadBenchmark.writeTextLevel(file, width, height);
+		System.out.printf("%dx%d level, %.1f MB%n", width, height, file.length() / 1e6);
+
+		long scanner = time("Scanner", file, true, runs);
+		long tokenizer = time("LevelTokenizer", file, false, runs);
+
+		System.out.printf("%.1fx faster%n", (double)scanner / tokenizer);
+
+		// check that both readers give the same level
+		Level expected = readWithScanner(file);
+		Level actual = new Level(null, new LevelTokenizer(file));
+
+		for (int y=0; y < height; y++) {
+			for (int x=0; x < width; x++) {
+				if (expected.getMaterialAt(x, y) != actual.getMaterialAt(x, y) || !sameData(expected.getDataAt(x, y), actual.getDataAt(x, y)))
+					throw new IllegalStateException("Levels differ at " + x + ", " + y);
+			}
+		}
+	}
+}
@@ -1,19 +1,17 @@
 package me.kyle1320.platformer;
 
-/**	A tile in a Level.
+/**	A tile in a Level. The level only stores material ids, so Tiles are made when asked for, and write any changes back to the level.
 	@author Kyle Cutler
 	@version 1/1/14
 */
 public class Tile extends Collidable {
 	private Material material;
-	private Sprite sprite;
 	private TileData data;
 
 	private Level level;
-	/*private int x;
-	private int y;*/
+	private boolean placed;	// true if changes to this tile should be written to its level
 	
-	/**	Creates a new Tile with the given properties.
+	/**	Creates a new Tile with the given properties. The tile is not in its level until it is placed.
 		@param mat The material this tile is to be made of
 		@param level The Level this tile is in
 		@param x The x coordinate of this tile in the level
@@ -24,22 +22,44 @@ public class Tile extends Collidable {
 		this.material = mat;
 
 		this.level = level;
-		/*this.x = x;
-		this.y = y;*/
+		this.placed = false;
 
-		this.sprite = mat.getSprite();
-		this.data = new TileData();
+		this.data = TileData.EMPTY;
 	}
 
-	/**	Updates this Tile's sprite.
+	/**	Creates a new Tile that views the tile at the given coordinates of a level. Coordinates must be within bounds.
+		The material is read from the level now and the data when it is first needed, and changes to the tile are written to the level.
+		@param level The Level this tile is in
+		@param x The x coordinate of this tile in the level
+		@param y Th y coordinate of this tile in the level
 	*/
-	public void update() {
-		sprite.update();
+	Tile(Level level, int x, int y) {
+		this(level.getMaterialAt(x, y), level, x, y);
+
+		this.placed = true;
+		this.data = null;	// most tiles never need their data, so don't look it up yet
 	}
 
-	/**	Removes this tile from its level.
+	/**	Makes this Tile view the tile at other coordinates of its level, so that one Tile can be reused to look at many. Coordinates must be within bounds.
+		@param x The x coordinate of the tile to view
+		@param y The y coordinate of the tile to view
+	*/
+	void view(int x, int y) {
+		this.material = level.getMaterialAt(x, y);
+		this.data = null;
+		this.placed = true;
+
+		setShape(material.getSpriteShape());
+		setX(x);
+		setY(y);
+	}
+
+	/**	Removes this tile from its level. The tile keeps its material and data so that it can be placed again.
 	*/
 	public void destroy() {
+		data = getData();
+		placed = false;
+
 		level.destroyTile(getTileX(), getTileY());
 	}
 
@@ -53,7 +73,7 @@ public class Tile extends Collidable {
 	/**	Places this tile in its level.
 	*/
 	public void place() {
-		level.placeTile(this);
+		placed = level.placeTile(this);
 	}
 
 	public void move(int x, int y) {
@@ -70,11 +90,11 @@ public class Tile extends Collidable {
 		@param eraseData True if this tile's custom data should be erased.
 	*/
 	public void setMaterial(Material newMaterial, boolean eraseData) {
+		this.data = eraseData ? TileData.EMPTY : getData();
 		this.material = newMaterial;
-		this.sprite = newMaterial.getSprite();
 
-		if (eraseData)
-			this.data = new TileData();
+		if (placed)
+			level.setTile(getTileX(), getTileY(), material, data);
 	}
 
 	/**	sets this tile's data.
@@ -82,6 +102,9 @@ public class Tile extends Collidable {
 	*/
 	public void setData(TileData data) {
 		this.data = data;
+
+		if (placed)
+			level.setTile(getTileX(), getTileY(), material, data);
 	}
 
 	/**	Returns the Tile at the given position relative to this tile.
@@ -97,6 +120,9 @@ public class Tile extends Collidable {
 		@return This tile's data
 	*/
 	public TileData getData() {
+		if (data == null)
+			data = level.getDataAt(getTileX(), getTileY());
+
 		return data;
 	}
 
@@ -107,11 +133,18 @@ public class Tile extends Collidable {
 		return material;
 	}
 
-	/**	Returns this tile's sprite.
+	/**	Returns this tile's sprite at its level's current animation tick. The sprite is shared by every tile of the same material.
 		@return This tile's sprite
 	*/
 	public Sprite getSprite() {
-		return sprite;
+		return material.getSprite(level.getAnimationTick());
+	}
+
+	/**	Returns true if this tile's sprite changes over time.
+		@return True if this tile is animated
+	*/
+	public boolean isAnimated() {
+		return material.isAnimated();
 	}
 
 	/**	Returns this tile's properties.
@@ -121,6 +154,15 @@ public class Tile extends Collidable {
 		return material.getProperties();
 	}
 
+	/**	Returns true if this tile has an interaction that might do something.
+		@return True if this tile has an interaction that might do something
+	*/
+	public boolean hasInteraction() {
+		Interaction i = getProperties().getInteraction();
+
+		return i != null && i.canAct(this);
+	}
+
 	/**	Causes this tile to call its interaction with the given player.
 		@param player The player to interact with
 	*/
@@ -152,6 +194,22 @@ public class Tile extends Collidable {
 		return (int)super.getY();
 	}
 
+	/**	Returns true if the given object is a Tile at the same position in the same level. Tiles are views of their level, so two of them can be the same tile.
+		@param other The object to compare to
+		@return True if the other object is the same tile as this one
+	*/
+	public boolean equals(Object other) {
+		if (!(other instanceof Tile))
+			return false;
+
+		Tile t = (Tile)other;
+		return level == t.level && getTileX() == t.getTileX() && getTileY() == t.getTileY();
+	}
+
+	public int hashCode() {
+		return getTileY() * 31 + getTileX();
+	}
+
 	public String toString() {
 		return "Tile at (" + getTileX() + ", " + getTileY() + ") of " + getMaterial();
 	}
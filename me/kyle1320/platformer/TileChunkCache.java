@@ -0,0 +1,249 @@
+package me.kyle1320.platformer;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**	Draws the tiles of a level from square chunks of tiles drawn ahead of time into images, so that a frame draws about a dozen chunk images rather than every tile.
+	Only tiles that never change how they look are drawn into a chunk; animated tiles are drawn over it each frame. Tiles that cannot be seen, such as air, are skipped,
+	and a chunk with nothing to draw into it has no image at all, so open sky costs nothing.
+	A chunk is drawn again only when a tile in it changes, which the level tells the cache about through TileListener.
+	The level may be changed from another thread while the cache draws it; a chunk changed while it is being drawn is drawn again the next frame.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class TileChunkCache implements TileListener {
+	static final int CHUNK_SIZE = 8;		// tiles along each side of a chunk
+	static final int DEFAULT_MAX_CHUNKS = 48;	// about four screens' worth at 1280x720. The cache grows past this for larger screens
+
+	private Level level;
+	private int tileSize;
+	private int chunksWide, chunksHigh;
+
+	// how many times each chunk has changed, by cy*chunksWide + cx. Changed from the thread changing the level
+	private AtomicIntegerArray versions;
+
+	// drawn chunks by cy*chunksWide + cx, least recently drawn first, so the oldest can be thrown away
+	private LinkedHashMap<Integer, Chunk> chunks;
+	private int maxChunks;		// the most chunk images to keep, at least the chunks on screen and a ring around them
+
+	private int chunksDrawn;	// chunks drawn again since the cache was made
+
+	/**	A chunk of tiles drawn into an image, along with its animated tiles.
+	*/
+	private static class Chunk {
+		BufferedImage image;	// null if the chunk has no tiles to draw into it
+		int version;		// the chunk's version when it was drawn
+		int[] animated;		// the animated tiles in the chunk, as (y - miny)*CHUNK_SIZE + (x - minx)
+
+		/**	Throws away this chunk's image, if it has one.
+		*/
+		void flush() {
+			if (image != null)
+				image.flush();
+
+			image = null;
+		}
+	}
+
+	/**	Creates a new TileChunkCache for a level and starts listening for changes to its tiles.
+		@param level The level to draw
+		@param tileSize The size of a tile on screen, in pixels
+		@param maxChunks The most chunk images to keep. If more chunks than this are on screen at once, the cache grows to hold them and a ring of chunks around them
+	*/
+	public TileChunkCache(Level level, int tileSize, int maxChunks) {
+		this.level = level;
+		this.tileSize = tileSize;
+		this.maxChunks = maxChunks;
+		this.chunksWide = (level.getWidth() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		this.chunksHigh = (level.getHeight() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+		this.versions = new AtomicIntegerArray(chunksWide * chunksHigh);
+		this.chunks = new LinkedHashMap<Integer, Chunk>(16, 0.75f, true) {
+			protected boolean removeEldestEntry(Map.Entry<Integer, Chunk> eldest) {
+				if (size() <= TileChunkCache.this.maxChunks)	// the field, which grows, rather than the constructor's argument
+					return false;
+
+				eldest.getValue().flush();
+				return true;
+			}
+		};
+
+		level.addTileListener(this);
+	}
+
+	/**	Marks the chunk holding a tile as changed.
+		@param x The x coordinate of the tile
+		@param y The y coordinate of the tile
+	*/
+	public void tileChanged(int x, int y) {
+		versions.incrementAndGet((y / CHUNK_SIZE) * chunksWide + x / CHUNK_SIZE);
+	}
+
+	/**	Marks every chunk as changed.
+	*/
+	public void tilesChanged() {
+		for (int i=0; i < versions.length(); i++)
+			versions.incrementAndGet(i);
+	}
+
+	/**	Draws the tiles in a rectangle of the screen, in the same places InGameView would draw each tile.
+		@param g The Graphics2D object to draw on
+		@param firstx The x coordinate of the tile at the left of the screen
+		@param firsty The y coordinate of the tile at the bottom of the screen
+		@param startx The screen x coordinate of the left of tile firstx
+		@param starty The screen y coordinate of the top of tile firsty, less the screen height
+		@param width The width of the screen
+		@param height The height of the screen
+		@param tick The level's animation tick, to draw animated tiles at
+		@return The number of images drawn
+	*/
+	public int draw(Graphics2D g, int firstx, int firsty, int startx, int starty, int width, int height, long tick) {
+		int lastx = firstx + (width - startx + tileSize - 1) / tileSize;		// the tiles just past the edges of the screen
+		int lasty = firsty + (height + starty + tileSize - 1) / tileSize + 1;
+
+		int mincx = Math.max(0, firstx / CHUNK_SIZE);
+		int mincy = Math.max(0, firsty / CHUNK_SIZE);
+		int maxcx = Math.min(chunksWide - 1, lastx / CHUNK_SIZE);
+		int maxcy = Math.min(chunksHigh - 1, lasty / CHUNK_SIZE);
+
+		// keep every chunk on screen and a ring around them, so scrolling never throws away a chunk that is still needed
+		maxChunks = Math.max(maxChunks, (maxcx - mincx + 3) * (maxcy - mincy + 3));
+
+		int drawn = 0;
+
+		for (int cy=mincy; cy <= maxcy; cy++) {
+			for (int cx=mincx; cx <= maxcx; cx++) {
+				Chunk chunk = getChunk(g.getDeviceConfiguration(), cx, cy);
+
+				// the screen position of the chunk's top left tile
+				int left = startx + (cx*CHUNK_SIZE - firstx) * tileSize;
+				int top = starty + height - (cy*CHUNK_SIZE + CHUNK_SIZE - 1 - firsty) * tileSize;
+
+				if (chunk.image != null) {
+					g.drawImage(chunk.image, left, top, null);
+					drawn++;
+				}
+
+				for (int i : chunk.animated) {
+					int x = cx*CHUNK_SIZE + i % CHUNK_SIZE;
+					int y = cy*CHUNK_SIZE + i / CHUNK_SIZE;
+					Material material = level.getMaterialAt(x, y);
+
+					material.getSprite(tick).draw(g, left + (i % CHUNK_SIZE) * tileSize, top + (CHUNK_SIZE - 1 - i / CHUNK_SIZE) * tileSize, tileSize, tileSize);
+					drawn++;
+				}
+			}
+		}
+
+		return drawn;
+	}
+
+	/**	Returns a chunk, drawing it first if it has not been drawn or has changed since.
+		@param config The configuration of the screen, to make images that draw quickly on it
+		@param cx The x index of the chunk
+		@param cy The y index of the chunk
+		@return The chunk
+	*/
+	private Chunk getChunk(GraphicsConfiguration config, int cx, int cy) {
+		int index = cy*chunksWide + cx;
+		int version = versions.get(index);	// read before the tiles, so a change made while drawing is drawn next time
+		Chunk chunk = chunks.get(index);
+
+		if (chunk != null && chunk.version == version)
+			return chunk;
+
+		if (chunk == null) {
+			chunk = new Chunk();
+			chunks.put(index, chunk);
+		}
+
+		drawChunk(config, chunk, cx, cy);
+		chunk.version = version;
+		chunksDrawn++;
+
+		return chunk;
+	}
+
+	/**	Draws the tiles of a chunk that never change how they look into its image, and finds its animated tiles. Only tiles that can be seen are visited.
+		@param config The configuration of the screen, to make images that draw quickly on it
+		@param chunk The chunk to draw
+		@param cx The x index of the chunk
+		@param cy The y index of the chunk
+	*/
+	private void drawChunk(GraphicsConfiguration config, Chunk chunk, int cx, int cy) {
+		Graphics2D g = null;	// made when the first tile to draw into the image is found
+		int[] animated = new int[CHUNK_SIZE * CHUNK_SIZE];
+		int count = 0;
+
+		int minx = cx*CHUNK_SIZE;
+		int maxx = minx + CHUNK_SIZE - 1;
+
+		for (int ly=0; ly < CHUNK_SIZE; ly++) {
+			int y = cy*CHUNK_SIZE + ly;
+
+			for (int x = level.nextDrawableTile(y, minx, maxx); x >= 0; x = level.nextDrawableTile(y, x + 1, maxx)) {
+				Material material = level.getMaterialAt(x, y);
+				int lx = x - minx;
+
+				if (material.isAnimated()) {
+					animated[count++] = ly*CHUNK_SIZE + lx;
+				} else {
+					if (g == null)
+						g = clearImage(config, chunk);
+
+					material.getSprite().draw(g, lx * tileSize, (CHUNK_SIZE - 1 - ly) * tileSize, tileSize, tileSize);
+				}
+			}
+		}
+
+		if (g != null)
+			g.dispose();
+		else
+			chunk.flush();	// nothing to draw into the image, so there is no need for one
+
+		chunk.animated = Arrays.copyOf(animated, count);
+	}
+
+	/**	Makes a chunk's image if it has none, and clears it of any older drawing of the chunk.
+		@param config The configuration of the screen, to make images that draw quickly on it
+		@param chunk The chunk
+		@return A Graphics2D object to draw on the image with
+	*/
+	private Graphics2D clearImage(GraphicsConfiguration config, Chunk chunk) {
+		if (chunk.image == null)
+			chunk.image = config.createCompatibleImage(CHUNK_SIZE * tileSize, CHUNK_SIZE * tileSize, Transparency.TRANSLUCENT);
+
+		Graphics2D g = chunk.image.createGraphics();
+
+		g.setComposite(AlphaComposite.Clear);
+		g.fillRect(0, 0, chunk.image.getWidth(), chunk.image.getHeight());
+		g.setComposite(AlphaComposite.SrcOver);
+
+		return g;
+	}
+
+	/**	Stops listening for changes to the level and throws away every chunk image.
+	*/
+	public void dispose() {
+		level.removeTileListener(this);
+
+		for (Chunk chunk : chunks.values())
+			chunk.flush();
+
+		chunks.clear();
+	}
+
+	/**	Returns how many times chunks have been drawn into their images since this cache was made.
+		@return The number of chunks drawn
+	*/
+	public int getChunksDrawn() {
+		return chunksDrawn;
+	}
+}
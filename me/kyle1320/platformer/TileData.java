@@ -1,27 +1,92 @@
 package me.kyle1320.platformer;
 
-import java.util.Scanner;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**	Extra data stored with a tile. This is used in interactions.
+	TileData never changes, so numbers are parsed once when it is created, and tile placements once when it is compiled.
 	@author Kyle Cutler
 	@version 1/1/14
 */
 public class TileData {
+	public static final TileData EMPTY = new TileData();	// shared by every tile without custom data
+
 	private String[] data;
 
+	// each entry parsed ahead of time, so interactions don't parse every update
+	private int[] ints;
+	private boolean[] isInt;
+	private double[] doubles;
+	private boolean[] isDouble;
+	private boolean[] booleans;
+
+	private TilePlacement[] placements;
+
 	/**	Creates TileData from the given list of Strings.
 		@param data A varargs list of Strings that make up this TileData
 	*/
 	public TileData(String... data) {
 		this.data = data;
+
+		this.ints = new int[data.length];
+		this.isInt = new boolean[data.length];
+		this.doubles = new double[data.length];
+		this.isDouble = new boolean[data.length];
+		this.booleans = new boolean[data.length];
+
+		for (int i=0; i < data.length; i++) {
+			try {
+				ints[i] = Integer.parseInt(data[i]);
+				isInt[i] = true;
+			} catch (NumberFormatException e) {}
+
+			try {
+				doubles[i] = Double.parseDouble(data[i]);
+				isDouble[i] = true;
+			} catch (NumberFormatException e) {}
+
+			booleans[i] = Boolean.parseBoolean(data[i]);
+		}
 	}
 
-	/**	Reads TileData from a single line in the given Scanner.
-		@param in The Scanner to read the data from
-		@return TileData created from the next line in the Scanner
+	/**	Returns true if this data has exactly the given entries.
+		@param entries The entries to compare with
+		@return True if the entries are equal to this data's
 	*/
-	public static TileData read(Scanner in) {
+	public boolean hasEntries(String[] entries) {
+		return Arrays.equals(data, entries);
+	}
+
+	/**	Parses every entry of this data as a TilePlacement ahead of time, so that getPlacement does not need to.
+	*/
+	public void compile() {
+		for (int i=0; i < data.length; i++)
+			getPlacement(i);
+	}
+
+	/**	Returns the entry at the given index parsed as a TilePlacement. Placements are parsed once and reused.
+		@param index The data index
+		@return The TilePlacement described by the entry at that index, or by an empty String if the index is out of bounds
+	*/
+	public TilePlacement getPlacement(int index) {
+		if (index < 0 || index >= data.length)
+			return TilePlacement.EMPTY;
+
+		if (placements == null)
+			placements = new TilePlacement[data.length];
+
+		if (placements[index] == null)
+			placements[index] = new TilePlacement(data[index]);
+
+		return placements[index];
+	}
+
+	/**	Reads TileData from the rest of the current line of a level file.
+		@param in The LevelTokenizer to read the data from
+		@return TileData created from the rest of the line
+	*/
+	public static TileData read(LevelTokenizer in) throws IOException {
 		String line = in.nextLine().trim();
 		return new TileData(split(line));
 	}
@@ -116,7 +181,7 @@ public class TileData {
 	*/
 	public boolean getBoolean(int index) {
 		if (index >= 0 && index < data.length)
-			return Boolean.valueOf(data[index]);
+			return booleans[index];
 		return false;
 	}
 
@@ -125,10 +190,8 @@ public class TileData {
 		@return The int at that index, or -1 if one is not found.
 	*/
 	public int getInt(int index) {
-		if (index >= 0 && index < data.length)
-			try {
-				return Integer.parseInt(data[index]);
-			} catch (NumberFormatException e) {}
+		if (index >= 0 && index < data.length && isInt[index])
+			return ints[index];
 		return -1;
 	}
 
@@ -137,10 +200,8 @@ public class TileData {
 		@return The double at that index, or -1.0 if one is not found.
 	*/
 	public double getDouble(int index) {
-		if (index >= 0 && index < data.length)
-			try {
-				return Double.parseDouble(data[index]);
-			} catch (NumberFormatException e) {}
+		if (index >= 0 && index < data.length && isDouble[index])
+			return doubles[index];
 		return -1.0;
 	}
 
@@ -164,7 +225,7 @@ public class TileData {
 	public boolean getBoolean(int index, boolean def) {
 		if (index >= 0 && index < data.length)
 			if (!data[index].equals(""))
-				return Boolean.valueOf(data[index]);
+				return booleans[index];
 		return def;
 	}
 
@@ -174,11 +235,8 @@ public class TileData {
 		@return The int at that index, the default value if one is not found.
 	*/
 	public int getInt(int index, int def) {
-		if (index >= 0 && index < data.length)
-			if (!data[index].equals(""))
-				try {
-					return Integer.parseInt(data[index]);
-				} catch (NumberFormatException e) {}
+		if (index >= 0 && index < data.length && isInt[index])
+			return ints[index];
 		return def;
 	}
 
@@ -188,11 +246,8 @@ public class TileData {
 		@return The double at that index, the default value if one is not found.
 	*/
 	public double getDouble(int index, double def) {
-		if (index >= 0 && index < data.length)
-			if (!data[index].equals(""))
-				try {
-					return Double.parseDouble(data[index]);
-				} catch (NumberFormatException e) {}
+		if (index >= 0 && index < data.length && isDouble[index])
+			return doubles[index];
 		return def;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package me.kyle1320.platformer;
+
+/**	Stores the material id of every tile in a Level, along with which tiles are animated and which are interactive.
+	Coordinates given to a TileGrid must be within the bounds of its level.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public interface TileGrid {
+	/**	Returns the material id of the tile at the given coordinates.
+		@param x The x coordinate
+		@param y The y coordinate
+		@return The ordinal of the tile's Material
+	*/
+	public short getMaterial(int x, int y);
+
+	/**	Sets the tile at the given coordinates.
+		@param x The x coordinate
+		@param y The y coordinate
+		@param material The ordinal of the tile's new Material
+		@param animated True if the tile is animated
+		@param interactive True if the tile has an interaction that might act
+	*/
+	public void setTile(int x, int y, short material, boolean animated, boolean interactive);
+
+	/**	Finds the first interactive tile in a row, within a range of x coordinates.
+		@param y The y coordinate of the row
+		@param minx The first x coordinate to look at
+		@param maxx The last x coordinate to look at
+		@return The x coordinate of the first interactive tile, or -1 if there is none in the range
+	*/
+	public int nextInteractiveTile(int y, int minx, int maxx);
+
+	/**	Returns the animated tiles that are in memory.
+		@return The index (y*width + x) of each animated tile, in increasing order
+	*/
+	public int[] getAnimatedTiles();
+
+	/**	Tells this grid that the tiles around the given position are about to be used, such as the tiles around the player.
+		@param x The x coordinate
+		@param y The y coordinate
+	*/
+	public void focus(double x, double y);
+
+	/**	Releases anything this grid holds outside of memory, such as a file. The grid must not be used after it is closed.
+	*/
+	public void close();
+}
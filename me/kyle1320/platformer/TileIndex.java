@@ -0,0 +1,23 @@
+package me.kyle1320.platformer;
+
+/**	An enumeration of the tile indexes a Level keeps, which region queries and raycasts can search without looking at every tile.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public enum TileIndex {
+	/**	Tiles whose material is solid
+	*/
+	solid,
+
+	/**	Tiles whose material is climbable
+	*/
+	climbable,
+
+	/**	Tiles with an interaction that might act
+	*/
+	interactive,
+
+	/**	Tiles whose material's sprite has visible pixels
+	*/
+	drawable;
+}
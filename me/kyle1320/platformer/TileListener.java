@@ -0,0 +1,18 @@
+package me.kyle1320.platformer;
+
+/**	An interface for objects that want to know when the tiles of a Level change, such as a cache of drawn tiles.
+	Listeners are called on the thread that changed the level, which is usually not the thread that draws it.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public interface TileListener {
+	/**	Called after the material or data of a tile changes.
+		@param x The x coordinate of the tile
+		@param y The y coordinate of the tile
+	*/
+	public void tileChanged(int x, int y);
+
+	/**	Called after any number of tiles may have changed at once, such as when a GameSnapshot is restored.
+	*/
+	public void tilesChanged();
+}
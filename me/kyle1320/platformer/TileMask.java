@@ -0,0 +1,155 @@
+package me.kyle1320.platformer;
+
+import java.util.Arrays;
+
+/**	A bit for every tile in a level, by index (y*width + x), such as which tiles are solid.
+	Bits are stored in blocks of 4096, and a block with no bits set is not stored at all, so a mostly empty level takes little memory and is searched quickly.
+	A copy of a mask shares blocks with the mask it was copied from, and only copies a block the first time one of its bits changes.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class TileMask {
+	private static final int BLOCK_SHIFT = 12;
+	private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;		// bits in a block
+	private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+	private static final int BLOCK_WORDS = BLOCK_SIZE >> 6;
+
+	private TileMask base;
+	private int size;
+
+	// blocks of bits, null for blocks with no bits set
+	private long[][] blocks;
+
+	// for a copy, whether each block belongs to this mask rather than being shared with the base mask
+	private boolean[] owned;
+
+	/**	Creates a new TileMask with no bits set.
+		@param size The number of tiles in the level
+	*/
+	public TileMask(int size) {
+		this.size = size;
+		this.blocks = new long[(size + BLOCK_MASK) >> BLOCK_SHIFT][];
+	}
+
+	/**	Creates a new TileMask from bits that have already been worked out, such as ones read from a compiled level file.
+		@param size The number of tiles in the level
+		@param words The bits, 64 to a long as BitSet.toLongArray gives them. Missing longs at the end are taken to be zero
+	*/
+	public TileMask(int size, long[] words) {
+		this(size);
+
+		for (int b=0; b < blocks.length; b++) {
+			int start = b * BLOCK_WORDS;
+			int end = Math.min(words.length, start + BLOCK_WORDS);
+
+			for (int w=start; w < end; w++) {
+				if (words[w] != 0) {
+					blocks[b] = Arrays.copyOfRange(words, start, start + BLOCK_WORDS);
+					break;
+				}
+			}
+		}
+	}
+
+	/**	Creates a new TileMask that starts out the same as another, but which can be changed without changing the other.
+		The other mask must not be changed while this mask is in use.
+		@param base The mask to copy
+	*/
+	public TileMask(TileMask base) {
+		this.base = base;
+		this.size = base.size;
+		this.blocks = base.blocks.clone();
+		this.owned = new boolean[blocks.length];
+	}
+
+	/**	Returns the bit of a tile.
+		@param index The index of the tile
+		@return True if the bit is set
+	*/
+	public boolean get(int index) {
+		long[] block = blocks[index >> BLOCK_SHIFT];
+
+		return block != null && (block[(index & BLOCK_MASK) >> 6] & (1L << index)) != 0;
+	}
+
+	/**	Sets or clears the bit of a tile.
+		@param index The index of the tile
+		@param value True to set the bit, or false to clear it
+	*/
+	public void set(int index, boolean value) {
+		if (get(index) == value)
+			return;		// so that a copy doesn't copy blocks it doesn't change
+
+		int b = index >> BLOCK_SHIFT;
+
+		if (blocks[b] == null) {
+			blocks[b] = new long[BLOCK_WORDS];
+		} else if (owned != null && !owned[b]) {
+			blocks[b] = blocks[b].clone();
+		}
+
+		if (owned != null)
+			owned[b] = true;
+
+		if (value)
+			blocks[b][(index & BLOCK_MASK) >> 6] |= 1L << index;
+		else
+			blocks[b][(index & BLOCK_MASK) >> 6] &= ~(1L << index);
+	}
+
+	/**	Finds the first tile with its bit set within a range of indexes.
+		@param from The first index to look at
+		@param to The last index to look at
+		@return The index of the first tile with its bit set, or -1 if there is none in the range
+	*/
+	public int nextSetBit(int from, int to) {
+		if (from < 0)
+			from = 0;
+		if (to >= size)
+			to = size - 1;
+
+		while (from <= to) {
+			long[] block = blocks[from >> BLOCK_SHIFT];
+			int blockEnd = (from | BLOCK_MASK);
+
+			if (block != null) {
+				int end = Math.min(to, blockEnd);
+				int w = (from & BLOCK_MASK) >> 6;
+				long word = block[w] & (-1L << from);
+
+				while (true) {
+					if (word != 0) {
+						int next = (from & ~BLOCK_MASK) + (w << 6) + Long.numberOfTrailingZeros(word);
+						return next <= end ? next : -1;
+					}
+
+					if (++w == BLOCK_WORDS || (from & ~BLOCK_MASK) + (w << 6) > end)
+						break;
+
+					word = block[w];
+				}
+			}
+
+			from = blockEnd + 1;
+		}
+
+		return -1;
+	}
+
+	/**	For a copy, makes this mask the same as its base mask again, dropping every change. This takes time in proportion to the number of blocks, not the number of tiles.
+	*/
+	public void reset() {
+		if (base == null)
+			throw new IllegalStateException("Only a copy of another mask can be reset");
+
+		System.arraycopy(base.blocks, 0, blocks, 0, blocks.length);
+		Arrays.fill(owned, false);
+	}
+
+	/**	Returns the number of tiles this mask has a bit for.
+		@return The number of tiles
+	*/
+	public int getSize() {
+		return size;
+	}
+}
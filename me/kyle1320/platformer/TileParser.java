@@ -17,40 +17,6 @@ Tile data is parsed as follows:
 		@return The Tile parsed from the given data
 	*/
 	public static final Tile parse(Tile rel, String data) {
-		TileData tileData = TileData.create(data);
-		Material material;
-		int dx, dy, nx, ny;
-		String strData;
-		Tile copy = rel;
-		Tile replace;
-		TileData newData;
-
-		if (data.length() > 0 && data.charAt(0) == '#') {
-			TileData dataCopy = TileData.create(tileData.getString(0, ""));
-			copy = rel.getRelative(dataCopy.getInt(0, 0), dataCopy.getInt(1, 0));
-			material = copy.getMaterial();
-		} else {
-			material = Material.values()[tileData.getInt(0, 0)];
-		}
-
-		dx = tileData.getInt(1, 0);
-		dy = tileData.getInt(2, 0);
-		nx = rel.getTileX() + dx;
-		ny = rel.getTileY() + dy;
-
-		replace = rel.getRelative(dx, dy);
-
-		strData = tileData.getString(3, "");
-		if (strData.equals("$"))
-			newData = copy.getData();
-		else if (strData.equals("@") && replace != null)
-			newData = replace.getData();
-		else
-			newData = TileData.create(strData);
-
-		Tile newTile = new Tile(material, rel.getLevel(), nx, ny);
-		newTile.setData(newData);
-		
-		return newTile;
+		return new TilePlacement(data).createTile(rel);
 	}
 }
\ No newline at end of file
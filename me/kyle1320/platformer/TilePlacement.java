@@ -0,0 +1,154 @@
+package me.kyle1320.platformer;
+
+/**	A tile description from TileData, parsed once so that it can be tested and placed relative to a tile without parsing or creating tiles.
+	See TileParser for the format.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public final class TilePlacement {
+	/**	The placement described by an empty String: air at the relative tile.
+	*/
+	public static final TilePlacement EMPTY = new TilePlacement("");
+
+	// where the placed tile's data comes from
+	private static final int DATA_GIVEN = 0;
+	private static final int DATA_COPIED = 1;	// $
+	private static final int DATA_REPLACED = 2;	// @
+
+	private final Material material;
+	private final int materialId;
+	private final boolean copyMaterial;
+	private final int copyX, copyY;
+
+	private final int dx, dy;
+
+	private final int dataSource;
+	private final TileData data;
+
+	/**	Parses a TilePlacement from the given String.
+		@param data The String to parse, in the format described by TileParser
+	*/
+	public TilePlacement(String data) {
+		TileData tileData = TileData.create(data);
+
+		if (data.length() > 0 && data.charAt(0) == '#') {
+			TileData dataCopy = TileData.create(tileData.getString(0, ""));
+
+			this.copyMaterial = true;
+			this.copyX = dataCopy.getInt(0, 0);
+			this.copyY = dataCopy.getInt(1, 0);
+			this.materialId = -1;
+			this.material = null;
+		} else {
+			this.copyMaterial = false;
+			this.copyX = 0;
+			this.copyY = 0;
+			this.materialId = tileData.getInt(0, 0);
+
+			Material[] materials = Material.values();
+			this.material = materialId >= 0 && materialId < materials.length ? materials[materialId] : null;
+		}
+
+		this.dx = tileData.getInt(1, 0);
+		this.dy = tileData.getInt(2, 0);
+
+		String strData = tileData.getString(3, "");
+		if (strData.equals("$")) {
+			this.dataSource = DATA_COPIED;
+			this.data = null;
+		} else if (strData.equals("@")) {
+			this.dataSource = DATA_REPLACED;
+			this.data = TileData.create(strData);	// used if there is no tile to take data from
+		} else {
+			this.dataSource = DATA_GIVEN;
+			this.data = TileData.create(strData);
+		}
+
+		if (this.data != null)
+			this.data.compile();
+	}
+
+	/**	Returns true if this placement describes a material that exists, or copies the material of another tile.
+		@return True if this placement can be used
+	*/
+	public boolean isValid() {
+		return copyMaterial || material != null;
+	}
+
+	/**	Returns the material this placement describes, relative to the given tile.
+		@param rel The tile to place relative to
+		@return The material of the described tile
+	*/
+	public Material getMaterial(Tile rel) {
+		if (copyMaterial)
+			return rel.getRelative(copyX, copyY).getMaterial();
+
+		if (material == null)
+			throw new IllegalStateException("Invalid material id " + materialId);
+
+		return material;
+	}
+
+	/**	Returns the x coordinate of the described tile.
+		@param rel The tile to place relative to
+		@return The x coordinate of the described tile
+	*/
+	public int getX(Tile rel) {
+		return rel.getTileX() + dx;
+	}
+
+	/**	Returns the y coordinate of the described tile.
+		@param rel The tile to place relative to
+		@return The y coordinate of the described tile
+	*/
+	public int getY(Tile rel) {
+		return rel.getTileY() + dy;
+	}
+
+	/**	Returns true if the tile currently in the level where this placement points is of the material this placement describes.
+		@param rel The tile to place relative to
+		@return True if the tile in the level matches this placement's material
+	*/
+	public boolean matches(Tile rel) {
+		Tile current = rel.getRelative(dx, dy);
+
+		return current != null && current.getMaterial() == getMaterial(rel);
+	}
+
+	/**	Returns true if the described tile can be placed in the level.
+		@param rel The tile to place relative to
+		@return True if the described tile can be placed
+	*/
+	public boolean canBePlaced(Tile rel) {
+		return rel.getLevel().canPlaceTile(getX(rel), getY(rel));
+	}
+
+	/**	Creates the described tile.
+		@param rel The tile to place relative to
+		@return The Tile described by this placement
+	*/
+	public Tile createTile(Tile rel) {
+		Tile newTile = new Tile(getMaterial(rel), rel.getLevel(), getX(rel), getY(rel));
+		newTile.setData(getData(rel));
+
+		return newTile;
+	}
+
+	/**	Returns the data for the described tile.
+		@param rel The tile to place relative to
+		@return The TileData for the described tile
+	*/
+	private TileData getData(Tile rel) {
+		switch (dataSource) {
+			case DATA_COPIED:
+				return copyMaterial ? rel.getRelative(copyX, copyY).getData() : rel.getData();
+			case DATA_REPLACED:
+				Tile replace = rel.getRelative(dx, dy);
+				if (replace != null)
+					return replace.getData();
+				return data;
+			default:
+				return data;
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package me.kyle1320.platformer;
+
+/**	Visits the tiles of a level in a rectangle that are in one of the level's tile indexes, row by row from the bottom, without allocating anything.
+	A TileRegion is meant to be kept and reused, calling start for each new rectangle:
+	<pre>	for (region.start(level, TileIndex.solid, minx, miny, maxx, maxy); region.next(); )
+		visit(region.getX(), region.getY());</pre>
+	The next tile is looked up each time next is called, so tiles changed while visiting are seen as they are when reached.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public final class TileRegion {
+	private Level level;
+	private TileIndex index;
+	private int minx, maxx, maxy;
+	private int x, y;
+
+	/**	Starts visiting a rectangle of tiles. The rectangle includes its edges, and the parts of it outside the level are ignored.
+		@param level The level to visit
+		@param index The index of the tiles to visit
+		@param minx The x coordinate of the left column
+		@param miny The y coordinate of the bottom row
+		@param maxx The x coordinate of the right column
+		@param maxy The y coordinate of the top row
+		@return This TileRegion
+	*/
+	public TileRegion start(Level level, TileIndex index, int minx, int miny, int maxx, int maxy) {
+		this.level = level;
+		this.index = index;
+		this.minx = Math.max(0, minx);
+		this.maxx = Math.min(level.getWidth() - 1, maxx);
+		this.maxy = Math.min(level.getHeight() - 1, maxy);
+		this.x = this.minx - 1;
+		this.y = Math.max(0, miny);
+
+		return this;
+	}
+
+	/**	Moves to the next tile in the rectangle that is in the index.
+		@return True if there is another tile, or false if every tile has been visited
+	*/
+	public boolean next() {
+		if (level == null)
+			return false;
+
+		while (y <= maxy) {
+			int next = x < maxx ? level.nextTile(index, y, x + 1, maxx) : -1;
+
+			if (next >= 0) {
+				x = next;
+				return true;
+			}
+
+			y++;
+			x = minx - 1;
+		}
+
+		level = null;	// so the level can be collected, and next keeps returning false
+		return false;
+	}
+
+	/**	Returns the x coordinate of the current tile.
+		@return The x coordinate
+	*/
+	public int getX() {
+		return x;
+	}
+
+	/**	Returns the y coordinate of the current tile.
+		@return The y coordinate
+	*/
+	public int getY() {
+		return y;
+	}
+}
@@ -0,0 +1,80 @@
+package me.kyle1320.platformer;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**	Measures the time to draw frames of a level while scrolling across it, drawing each visible tile every frame against drawing from a TileChunkCache.
+	Frames are drawn into an image without a window, so the times are for software drawing.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class TileRenderBenchmark {
+	/**	Draws frames of a game while moving the player across the level.
+		@param view The view to draw with, which has the game loaded
+		@param frames The number of frames to draw
+		@param width The frame width
+		@param height The frame height
+		@return The time taken, in nanoseconds, followed by the total number of tile images drawn
+	*/
+	static long[] drawFrames(InGameView view, int frames, int width, int height) {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = image.createGraphics();
+		g.setClip(0, 0, width, height);
+
+		Player player = view.getGame().getPlayer();
+		Level level = view.getGame().getLevel();
+		long images = 0;
+
+		long start = System.nanoTime();
+
+		for (int i=0; i < frames; i++) {
+			player.setX((i * 0.05) % level.getWidth());	// scroll at a steady 3.5 pixels a frame, as walking does
+			player.setY(level.getPlayerStartY());
+			player.rememberPosition();
+			view.publishSnapshot();
+
+			view.draw(g, width, height, 1.0);
+			images += view.getTileImagesDrawn();
+		}
+
+		long time = System.nanoTime() - start;
+		g.dispose();
+
+		return new long[] {time, images};
+	}
+
+	/**	<pre>Runs the benchmark and prints the results. Arguments are read as follows:
+	0:	String	The GameLevel name (default level1)
+	1:	int		The number of frames to draw (default 2000)
+	2:	int		The frame width (default 1280)
+	3:	int		The frame height (default 720)</pre>
+		@param args A String array of program arguments
+	*/
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+
+		GameLevel level = args.length > 0 ? GameLevel.valueOf(args[0]) : GameLevel.level1;
+		int frames = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+		int width = args.length > 2 ? Integer.parseInt(args[2]) : 1280;
+		int height = args.length > 3 ? Integer.parseInt(args[3]) : 720;
+
+		GameState game = new GameState(level.getLevel(), new ScriptedInput());
+
+		InGameView tiles = new InGameView(null);
+		tiles.setCacheTiles(false);
+		tiles.loadGame(game);
+
+		InGameView chunks = new InGameView(null);
+		chunks.loadGame(game);
+
+		drawFrames(tiles, frames / 10, width, height);	// warm up
+		drawFrames(chunks, frames / 10, width, height);
+
+		long[] tile = drawFrames(tiles, frames, width, height);
+		long[] chunk = drawFrames(chunks, frames, width, height);
+
+		System.out.printf("%s, %d frames at %dx%d%n", game.getLevel().getName(), frames, width, height);
+		System.out.printf("  tile by tile:  %.2f ms/frame, %.0f tile images/frame%n", tile[0] / 1e6 / frames, (double)tile[1] / frames);
+		System.out.printf("  chunk cache:   %.2f ms/frame, %.0f tile images/frame (%.1fx faster)%n", chunk[0] / 1e6 / frames, (double)chunk[1] / frames, (double)tile[0] / chunk[0]);
+	}
+}
@@ -0,0 +1,94 @@
+package me.kyle1320.platformer;
+
+import java.nio.ByteBuffer;
+
+/**	Fires entities at a one tile thick wall at increasing speeds to find where they start passing through it, with and without continuous collision.
+	Also times a scripted run of a real level in both modes.
+	@author Kyle Cutler
+	@version 10/17/26
+*/
+public class TunnelingBenchmark {
+	private static final int WIDTH = 40;
+	private static final int HEIGHT = 8;
+	private static final int WALL = 20;
+
+	/**	Builds a level with a floor along the bottom and a one tile thick wall across the middle.
+		@return The level data in the text level format
+	*/
+	private static String wallLevel() {
+		StringBuilder out = new StringBuilder();
+		out.append(WIDTH).append(' ').append(HEIGHT).append('\n');
+
+		for (int y=HEIGHT-1; y >= 0; y--) {
+			for (int x=0; x < WIDTH; x++) {
+				boolean solid = y == 0 || x == WALL;
+				out.append(solid ? Material.castleCenter.ordinal() : Material.air.ordinal()).append(' ');
+			}
+			out.append('\n');
+		}
+
+		out.append("0 2 1\n");	// background and player start
+
+		return out.toString();
+	}
+
+	/**	Fires an entity at the wall and returns whether it ended up on the other side.
+		@param game The game holding the wall level
+		@param speed The speed of the entity, in tiles per second
+		@param continuous True to use continuous collision
+		@return True if the entity passed through the wall
+	*/
+	private static boolean tunnels(GameState game, double speed, boolean continuous) {
+		Entity e = new Entity(GameSprite.player1Stand.getSprite(), game, 2, 1, 0, 0);
+		e.setContinuousCollision(continuous);
+
+		for (int i=0; i < 200; i++) {
+			e.setMovementX(speed);	// keep pushing, even after hitting the wall
+			e.update();
+		}
+
+		return e.getMinX() >= WALL + 1;
+	}
+
+	/**	Times a scripted run of a level.
+		@param level The level to run
+		@param script The input script
+		@param continuous True to use continuous collision for the player
+		@return The result of the run
+	*/
+	private static SimulationResult time(GameLevel level, String script, boolean continuous) {
+		ScriptedInput input = ScriptedInput.parse(script);
+		HeadlessRunner runner = new HeadlessRunner(level, input);
+		runner.getGame().getPlayer().setContinuousCollision(continuous);
+
+		return runner.run(input.getLength());
+	}
+
+	/**	<pre>Runs the benchmark and prints the results. Arguments are read as follows:
+	0:	String	The GameLevel name to time (default tutorial)</pre>
+		@param args A String array of program arguments
+	*/
+	public static void main(String[] args) throws Exception {
+		System.setProperty("java.awt.headless", "true");
+
+		GameState game = new GameState(new Level(null, new LevelTokenizer(ByteBuffer.wrap(wallLevel().getBytes()))), ScriptedInput.parse(""));
+
+		System.out.println("speed (tiles/s)  tiles/update  discrete  continuous");
+		for (double speed = 25; speed <= 3200; speed *= 2) {
+			System.out.printf("%15.0f  %12.2f  %8s  %10s%n", speed, speed * Updatable.UPDATE_DELAY / 1000.0,
+				tunnels(game, speed, false) ? "through" : "stopped",
+				tunnels(game, speed, true) ? "through" : "stopped");
+		}
+
+		GameLevel level = GameLevel.valueOf(args.length > 0 ? args[0] : "tutorial");
+		String script = "D:200 D+SPACE:50 D:300 A:200 A+SPACE:50 -:100 D:2000 D+SPACE:100 D:2000";
+
+		for (int i=0; i < 3; i++) {	// warm up
+			time(level, script, false);
+			time(level, script, true);
+		}
+
+		System.out.println("discrete:   " + time(level, script, false));
+		System.out.println("continuous: " + time(level, script, true));
+	}
+}
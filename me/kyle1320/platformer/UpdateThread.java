@@ -5,15 +5,32 @@ package me.kyle1320.platformer;
 	@version 1/1/14
 */
 public class UpdateThread implements Runnable {
+	// The most updates run at once when catching up in fixed step mode. Any more time than this is dropped.
+	private static final int MAX_CATCHUP_STEPS = 5;
+	private static final long STEP_NANOS = Updatable.UPDATE_DELAY * 1000000L;
+
 	private Updatable update;
 	private Thread thread;
 	private volatile boolean running;
 
-	/**	Creates a new RepaintThread that will update the given Updatable.
+	private boolean fixedStep;
+	private volatile long stepStart;	// the System.nanoTime() the current step began at: the last update's time, less the time left over from it
+	private volatile long droppedNanos;
+
+	/**	Creates a new UpdateThread that will update the given Updatable, counting updates in milliseconds.
 		@param update The Updatable to update
 	*/
 	public UpdateThread(Updatable update) {
+		this(update, false);
+	}
+
+	/**	Creates a new UpdateThread that will update the given Updatable.
+		@param update The Updatable to update
+		@param fixedStep True to use a fixed step loop with a capped number of catch-up updates and render interpolation
+	*/
+	public UpdateThread(Updatable update, boolean fixedStep) {
 		this.update = update;
+		this.fixedStep = fixedStep;
 	}
 
 	/**	Creates a new Thread from this Runnable and starts it.
@@ -40,6 +57,15 @@ public class UpdateThread implements Runnable {
 	/**	The Runnable method that runs in a Thread. Constantly updates the Updatable assigned to this UpdateThread.
 	*/
 	public void run() {
+		if (fixedStep)
+			runFixedStep();
+		else
+			runMillis();
+	}
+
+	/**	Updates every UPDATE_DELAY milliseconds, running as many updates as needed to catch up after a delay.
+	*/
+	private void runMillis() {
 		long lastUpdateTime = System.currentTimeMillis();
 		long now;
 
@@ -60,4 +86,67 @@ public class UpdateThread implements Runnable {
 			} catch (InterruptedException e) {}
 		}
 	}
+
+	/**	Updates every UPDATE_DELAY milliseconds as measured by System.nanoTime(). At most MAX_CATCHUP_STEPS updates are run at once,
+		so a long pause (such as garbage collection) drops time instead of stalling in catch-up updates. The time left over
+		between updates is saved with the time of the last update, so the interpolation amount for drawing can be found whenever it is asked for.
+	*/
+	private void runFixedStep() {
+		long lastTime = System.nanoTime();
+		long now;
+
+		stepStart = lastTime;
+
+		long accumulated = 0;
+		int steps;
+
+		while (running) {
+			now = System.nanoTime();
+			accumulated += now - lastTime;
+			lastTime = now;
+
+			steps = 0;
+			while (accumulated >= STEP_NANOS && steps < MAX_CATCHUP_STEPS) {
+				update.update();
+				accumulated -= STEP_NANOS;
+				steps++;
+			}
+
+			if (accumulated >= STEP_NANOS) {	// still behind after catching up, so give up on the whole steps we missed
+				droppedNanos += accumulated - accumulated % STEP_NANOS;
+				accumulated %= STEP_NANOS;
+			}
+
+			stepStart = now - accumulated;
+
+			try {
+				long sleep = (STEP_NANOS - accumulated) / 1000000;
+
+				if (sleep > 0)
+					Thread.sleep(sleep);
+				else
+					Thread.yield();
+			} catch (InterruptedException e) {}
+		}
+	}
+
+	/**	Returns how far the current time is between the last update and the next, for drawing between the two.
+		This is found from the time it is called at, as the updating thread sleeps for most of each step.
+		@return A value from 0 to 1, or always 1 if this thread is not in fixed step mode
+	*/
+	public double getInterpolation() {
+		if (!fixedStep)
+			return 1.0;
+
+		double interpolation = (double)(System.nanoTime() - stepStart) / STEP_NANOS;
+
+		return Math.max(0.0, Math.min(1.0, interpolation));
+	}
+
+	/**	Returns the total time that was skipped because updates could not keep up.
+		@return The dropped time, in nanoseconds
+	*/
+	public long getDroppedNanos() {
+		return droppedNanos;
+	}
 }
\ No newline at end of file